@@ -0,0 +1,129 @@
+package com.notesapi.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notesapi.dto.NotePage;
+import com.notesapi.models.Note;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class NoteCache {
+    private final AsyncCache<Long, Note> notesById;
+    private final Cache<Long, ConcurrentMap<String, CompletableFuture<NotePage<Note>>>> pagesByUser;
+
+    public NoteCache(
+        MeterRegistry meterRegistry,
+        @Value("${notes.cache.max-notes:10000}") long maxNotes,
+        @Value("${notes.cache.max-users:1000}") long maxUsers,
+        @Value("${notes.cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.notesById = Caffeine.newBuilder()
+            .maximumSize(maxNotes)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .buildAsync();
+
+        this.pagesByUser = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, notesById, "notes.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, pagesByUser, "notes.pages-by-user");
+    }
+
+    // Loads run on the caller's thread after a pending future is published, never inside the map's lock,
+    // so a JDBC call cannot pin a virtual thread's carrier and concurrent misses still share one query.
+    public Optional<Note> getNote(Long id, Function<Long, Optional<Note>> loader) {
+        CompletableFuture<Note> pending = new CompletableFuture<>();
+        CompletableFuture<Note> note = notesById.get(id, (key, executor) -> pending);
+
+        if (note == pending) {
+            complete(pending, () -> loader.apply(id).orElse(null));
+        }
+
+        return Optional.ofNullable(join(note));
+    }
+
+    public NotePage<Note> getPage(Long discordUserId, String cursor, int limit, Supplier<NotePage<Note>> loader) {
+        ConcurrentMap<String, CompletableFuture<NotePage<Note>>> pages = pagesByUser.get(discordUserId, key -> new ConcurrentHashMap<>());
+        String key = pageKey(cursor, limit);
+        CompletableFuture<NotePage<Note>> pending = new CompletableFuture<>();
+        CompletableFuture<NotePage<Note>> page = pages.putIfAbsent(key, pending);
+
+        if (page == null) {
+            page = pending;
+            complete(pending, loader);
+
+            if (pending.isCompletedExceptionally()) {
+                pages.remove(key, pending);
+            }
+        }
+
+        return join(page);
+    }
+
+    public void put(Note note) {
+        notesById.put(note.getId(), CompletableFuture.completedFuture(note));
+    }
+
+    public void evict(Long noteId, Long discordUserId) {
+        if (noteId != null) {
+            notesById.synchronous().invalidate(noteId);
+        }
+
+        if (discordUserId != null) {
+            pagesByUser.invalidate(discordUserId);
+        }
+    }
+
+    public void clear() {
+        notesById.synchronous().invalidateAll();
+        pagesByUser.invalidateAll();
+    }
+
+    private static <V> void complete(CompletableFuture<V> pending, Supplier<V> loader) {
+        try {
+            pending.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+        }
+    }
+
+    // Loader failures (a bad cursor, say) reach the caller as they were thrown, not wrapped.
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    private static String pageKey(String cursor, int limit) {
+        return (cursor == null ? "" : cursor) + ":" + limit;
+    }
+}
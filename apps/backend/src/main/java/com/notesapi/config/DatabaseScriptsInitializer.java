@@ -0,0 +1,43 @@
+package com.notesapi.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+@Component
+public class DatabaseScriptsInitializer {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseScriptsInitializer.class);
+
+    private static final String SCRIPTS_LOCATION = "classpath:db/*.sql";
+
+    private final DataSource dataSource;
+
+    // Depending on the EntityManagerFactory makes these scripts run after Hibernate has created or updated the tables.
+    public DatabaseScriptsInitializer(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void runScripts() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(SCRIPTS_LOCATION);
+
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(scripts);
+
+        populator.execute(dataSource);
+
+        log.info("Applied {} database scripts", scripts.length);
+    }
+}
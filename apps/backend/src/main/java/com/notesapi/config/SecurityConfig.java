@@ -36,6 +36,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(ALLOWED_ORIGINS);
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -60,6 +61,10 @@ public class SecurityConfig {
                 .permitAll()
                 .requestMatchers("/notes/**")
                 .permitAll()
+                .requestMatchers("/reminders/**")
+                .permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus")
+                .permitAll()
                 .anyRequest()
                 .authenticated()
             )
@@ -3,13 +3,14 @@ package com.notesapi.controllers;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.http.HttpStatusCode;
 
 import java.util.Map;
+import com.notesapi.discord.DiscordHttpClient;
+import com.notesapi.discord.DiscordUnavailableException;
 import com.notesapi.security.JwtService;
 
 @RestController
@@ -25,19 +26,17 @@ public class DiscordOAuthController {
     private String redirectUri;
 
     private final JwtService jwtService;
+    private final DiscordHttpClient discordClient;
 
-    public DiscordOAuthController(JwtService jwtService) {
+    public DiscordOAuthController(JwtService jwtService, DiscordHttpClient discordClient) {
         this.jwtService = jwtService;
+        this.discordClient = discordClient;
     }
 
     @PostMapping("/exchange")
     public ResponseEntity<?> exchangeCode(@RequestBody Map<String, String> body) {
         String code = body.get("code");
 
-        RestTemplate restTemplate = new RestTemplate();
-
-        String tokenUrl = "https://discord.com/api/oauth2/token";
-
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
@@ -57,13 +56,16 @@ public class DiscordOAuthController {
         ResponseEntity<Map> tokenResponse;
 
         try {
-            tokenResponse = restTemplate.postForEntity(tokenUrl, request, Map.class);
+            tokenResponse = discordClient.exchange("oauth2.token", HttpMethod.POST, "/oauth2/token", request, Map.class);
         } catch (HttpClientErrorException e) {
             HttpStatusCode status = e.getStatusCode();
             String responseBody = e.getResponseBodyAsString();
 
             return ResponseEntity.status(status)
                 .body(Map.of("error", "Token exchange failed", "status", status.value(), "details", responseBody));
+        } catch (DiscordUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Discord is unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Unexpected error during token exchange", "details", e.getMessage()));
@@ -89,18 +91,16 @@ public class DiscordOAuthController {
         ResponseEntity<Map> userResponse;
 
         try {
-            userResponse = restTemplate.exchange(
-                "https://discord.com/api/users/@me",
-                HttpMethod.GET,
-                new HttpEntity<>(userHeaders),
-                Map.class
-            );
+            userResponse = discordClient.exchange("users.me", HttpMethod.GET, "/users/@me", new HttpEntity<>(userHeaders), Map.class);
         } catch (HttpClientErrorException e) {
             HttpStatusCode status = e.getStatusCode();
             String responseBody = e.getResponseBodyAsString();
 
             return ResponseEntity.status(status)
                 .body(Map.of("error", "Failed to fetch user info", "status", status.value(), "details", responseBody));
+        } catch (DiscordUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Discord is unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
                 .body(Map.of("error", "Unexpected error fetching user info", "details", e.getMessage()));
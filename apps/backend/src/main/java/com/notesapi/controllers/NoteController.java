@@ -1,27 +1,68 @@
 package com.notesapi.controllers;
 
+import com.notesapi.dto.NoteBatchOperation;
+import com.notesapi.dto.NoteBatchResult;
+import com.notesapi.dto.NoteImportProgress;
+import com.notesapi.dto.NotePage;
+import com.notesapi.dto.NoteSearchHit;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.dto.NoteSummary;
 import com.notesapi.models.Note;
+import com.notesapi.security.BotTokenVerifier;
 import com.notesapi.services.NoteService;
+import com.notesapi.services.NoteTransferService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/notes")
 public class NoteController {
-    private final NoteService noteService;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
-    public NoteController(NoteService noteService) {
+    private final NoteService noteService;
+    private final NoteTransferService noteTransferService;
+    private final ObjectMapper objectMapper;
+    private final BotTokenVerifier botTokenVerifier;
+
+    public NoteController(
+        NoteService noteService,
+        NoteTransferService noteTransferService,
+        ObjectMapper objectMapper,
+        BotTokenVerifier botTokenVerifier
+    ) {
         this.noteService = noteService;
+        this.noteTransferService = noteTransferService;
+        this.objectMapper = objectMapper;
+        this.botTokenVerifier = botTokenVerifier;
     }
 
     @GetMapping("/user/{discordUserId}")
-    public ResponseEntity<List<Note>> getUserNotes(@PathVariable Long discordUserId, HttpServletRequest request) {
+    public ResponseEntity<NotePage<Note>> getUserNotes(
+        @PathVariable Long discordUserId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        HttpServletRequest request
+    ) {
         Long authDiscordUserId = (Long) request.getAttribute("discordUserId");
 
         if (authDiscordUserId == null) {
@@ -32,13 +73,102 @@ public class NoteController {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
 
-        List<Note> notes = noteService.getUserNotes(authDiscordUserId);
+        NotePage<Note> page;
 
-        return new ResponseEntity<>(notes, HttpStatus.OK);
+        try {
+            page = noteService.getUserNotes(authDiscordUserId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        String etag = NoteETags.forPage(page.items(), Note::getId, Note::getVersion, page.nextCursor());
+
+        return conditionalResponse(page, etag, ifNoneMatch);
+    }
+
+    @GetMapping("/user/{discordUserId}/summaries")
+    public ResponseEntity<NotePage<NoteSummary>> getUserNoteSummaries(
+        @PathVariable Long discordUserId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = "X-Bot-Token", required = false) String botToken,
+        HttpServletRequest request
+    ) {
+        Long authDiscordUserId = (Long) request.getAttribute("discordUserId");
+
+        // The bot's /listar has no JWT for the user who ran it; Discord has already authenticated them.
+        if (authDiscordUserId == null && botTokenVerifier.matches(botToken)) {
+            authDiscordUserId = discordUserId;
+        }
+
+        if (authDiscordUserId == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        if (!authDiscordUserId.equals(discordUserId)) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        NotePage<NoteSummary> page;
+
+        try {
+            page = noteService.getUserNoteSummaries(authDiscordUserId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<NotePage<NoteSearchHit>> searchNotes(
+        @RequestParam("q") String query,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        HttpServletRequest request
+    ) {
+        Long discordUserId = (Long) request.getAttribute("discordUserId");
+
+        if (discordUserId == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        if (query.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        NotePage<NoteSearchHit> page;
+
+        try {
+            page = noteService.searchNotes(discordUserId, query, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<NoteSuggestion>> suggestNotes(
+        @RequestParam("q") String query,
+        @RequestParam(required = false) Integer limit,
+        HttpServletRequest request
+    ) {
+        Long discordUserId = (Long) request.getAttribute("discordUserId");
+
+        if (discordUserId == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        return new ResponseEntity<>(noteService.suggestNotes(discordUserId, query, limit), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Note> getNoteById(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<Note> getNoteById(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        HttpServletRequest request
+    ) {
         Long discordUserId = (Long) request.getAttribute("discordUserId");
 
         if (discordUserId == null) {
@@ -57,7 +187,7 @@ public class NoteController {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
 
-        return new ResponseEntity<>(note, HttpStatus.OK);
+        return conditionalResponse(note, NoteETags.forNote(note.getVersion()), ifNoneMatch);
     }
 
     @PostMapping
@@ -72,58 +202,166 @@ public class NoteController {
 
         Note createdNote = noteService.createNote(note);
 
-        return new ResponseEntity<>(createdNote, HttpStatus.CREATED);
+        return new ResponseEntity<>(createdNote, etagHeaders(createdNote), HttpStatus.CREATED);
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<Note> updateNote(@PathVariable Long id, @RequestBody Note note, HttpServletRequest request) {
+    @PostMapping("/batch")
+    public ResponseEntity<List<NoteBatchResult>> applyBatch(
+        @RequestBody List<NoteBatchOperation> operations,
+        HttpServletRequest request
+    ) {
         Long discordUserId = (Long) request.getAttribute("discordUserId");
 
         if (discordUserId == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
-        Optional<Note> existingOpt = noteService.getNoteById(id);
+        if (operations.isEmpty() || operations.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<NoteBatchResult> results = noteService.applyBatch(discordUserId, operations);
 
-        if (existingOpt.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    // Written straight to the response rather than through an async StreamingResponseBody, so a large export is not
+    // cut off by the async request timeout.
+    @GetMapping("/export")
+    public void exportNotes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long discordUserId = (Long) request.getAttribute("discordUserId");
+
+        if (discordUserId == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
         }
 
-        Note existing = existingOpt.get();
+        boolean gzip = acceptsGzip(request);
 
-        if (!discordUserId.equals(existing.getDiscordUserId())) {
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("notes.ndjson").build().toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
         }
 
-        note.setDiscordUserId(discordUserId);
+        try (OutputStream out = gzip
+            ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)
+            : response.getOutputStream()) {
+            noteTransferService.exportNotes(discordUserId, out);
+        }
+    }
+
+    // Answers with NDJSON progress lines, one per committed batch, and a final line with "done" and any rejected lines.
+    @PostMapping("/import")
+    public void importNotes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long discordUserId = (Long) request.getAttribute("discordUserId");
 
-        Note updatedNote = noteService.updateNote(id, note);
+        if (discordUserId == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
 
-        return new ResponseEntity<>(updatedNote, HttpStatus.OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        OutputStream out = response.getOutputStream();
+
+        try (InputStream in = GZIP.equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))
+            ? new GZIPInputStream(request.getInputStream(), GZIP_BUFFER_SIZE)
+            : request.getInputStream()) {
+            NoteImportProgress result = noteTransferService.importNotes(discordUserId, in, progress -> writeLine(out, progress));
+
+            writeLine(out, result);
+        }
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteNote(@PathVariable Long id, HttpServletRequest request) {
+    @PutMapping("/{id}")
+    public ResponseEntity<Note> updateNote(
+        @PathVariable Long id,
+        @RequestBody Note note,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        HttpServletRequest request
+    ) {
         Long discordUserId = (Long) request.getAttribute("discordUserId");
 
         if (discordUserId == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
-        Optional<Note> existingOpt = noteService.getNoteById(id);
+        Long expectedVersion = NoteETags.expectedVersion(ifMatch);
+        Optional<Note> updatedOpt = noteService.updateNote(id, discordUserId, expectedVersion, note);
 
-        if (existingOpt.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        if (updatedOpt.isEmpty()) {
+            return new ResponseEntity<>(writeFailureStatus(id, discordUserId));
         }
 
-        Note existing = existingOpt.get();
+        return new ResponseEntity<>(updatedOpt.get(), etagHeaders(updatedOpt.get()), HttpStatus.OK);
+    }
 
-        if (!discordUserId.equals(existing.getDiscordUserId())) {
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteNote(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        HttpServletRequest request
+    ) {
+        Long discordUserId = (Long) request.getAttribute("discordUserId");
+
+        if (discordUserId == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
-        noteService.deleteNote(id);
+        Long expectedVersion = NoteETags.expectedVersion(ifMatch);
+
+        if (!noteService.deleteNote(id, discordUserId, expectedVersion)) {
+            return new ResponseEntity<>(writeFailureStatus(id, discordUserId));
+        }
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    // Ownership and the If-Match version are checked by the write itself, so a miss is explained after the fact.
+    private HttpStatus writeFailureStatus(Long id, Long discordUserId) {
+        Optional<Long> ownerId = noteService.findNoteOwner(id);
+
+        if (ownerId.isEmpty()) {
+            return HttpStatus.NOT_FOUND;
+        }
+
+        return discordUserId.equals(ownerId.get()) ? HttpStatus.PRECONDITION_FAILED : HttpStatus.FORBIDDEN;
+    }
+
+    // A matching If-None-Match gets a bare 304, so the body is never serialized.
+    private <T> ResponseEntity<T> conditionalResponse(T body, String etag, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setETag(etag);
+        headers.setCacheControl(NoteETags.REVALIDATE);
+
+        if (!NoteETags.noneMatch(ifNoneMatch, etag)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+
+    private HttpHeaders etagHeaders(Note note) {
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setETag(NoteETags.forNote(note.getVersion()));
+
+        return headers;
+    }
 }
@@ -0,0 +1,94 @@
+package com.notesapi.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags derived from the note version column, which every write to a note row bumps.
+ * A note's tag is its version; a page's tag folds in the id and version of every item plus the next cursor.
+ */
+public final class NoteETags {
+    // Browsers keep the response but revalidate it on every use, which is what makes If-None-Match show up.
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Never equal to a stored version, so a malformed or weak If-Match fails the precondition instead of being ignored.
+    private static final long UNMATCHABLE_VERSION = -1L;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private NoteETags() {
+    }
+
+    public static String forNote(Long version) {
+        return new ETag(String.valueOf(version), false).formattedTag();
+    }
+
+    public static <T> String forPage(List<T> items, Function<T, Long> id, Function<T, Long> version, String nextCursor) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (T item : items) {
+            hash = mix(hash, id.apply(item));
+            hash = mix(hash, version.apply(item));
+        }
+
+        hash = mix(hash, nextCursor == null ? 0L : nextCursor.hashCode());
+
+        return new ETag(items.size() + "-" + Long.toHexString(hash), false).formattedTag();
+    }
+
+    // Weak comparison, as RFC 9110 specifies for If-None-Match.
+    public static boolean noneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return true;
+        }
+
+        ETag current = ETag.create(etag);
+
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The version an If-Match header requires, or null when there is no precondition ("*" only asks that the
+     * note exists, which the write checks anyway). Only a single strong tag can match.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        List<ETag> tags = ETag.parse(ifMatch);
+
+        if (tags.size() == 1 && tags.get(0).isWildcard()) {
+            return null;
+        }
+
+        if (tags.size() != 1 || tags.get(0).weak()) {
+            return UNMATCHABLE_VERSION;
+        }
+
+        try {
+            return Long.parseLong(tags.get(0).tag());
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,51 @@
+package com.notesapi.controllers;
+
+import com.notesapi.models.ReminderDelivery;
+import com.notesapi.security.BotTokenVerifier;
+import com.notesapi.services.ReminderService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/reminders")
+public class ReminderController {
+    private final ReminderService reminderService;
+    private final BotTokenVerifier botTokenVerifier;
+
+    public ReminderController(ReminderService reminderService, BotTokenVerifier botTokenVerifier) {
+        this.reminderService = reminderService;
+        this.botTokenVerifier = botTokenVerifier;
+    }
+
+    @GetMapping("/pending")
+    public ResponseEntity<List<ReminderDelivery>> getPending(
+        @RequestHeader(value = "X-Bot-Token", required = false) String token,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (!botTokenVerifier.matches(token)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        return new ResponseEntity<>(reminderService.getPendingDeliveries(limit), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> acknowledge(
+        @PathVariable Long id,
+        @RequestHeader(value = "X-Bot-Token", required = false) String token
+    ) {
+        if (!botTokenVerifier.matches(token)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        if (!reminderService.acknowledgeDelivery(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
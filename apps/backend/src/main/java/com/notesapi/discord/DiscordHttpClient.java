@@ -0,0 +1,227 @@
+package com.notesapi.discord;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one way the backend talks to Discord: a pooled HTTP/2-capable client with connect and read
+ * timeouts, a circuit breaker that fails fast during a brown-out, and retries that honour Discord's
+ * rate-limit headers instead of hammering a bucket that is already exhausted.
+ */
+@Component
+public class DiscordHttpClient {
+    private static final Logger log = LoggerFactory.getLogger(DiscordHttpClient.class);
+
+    private static final String BASE_URL = "https://discord.com/api";
+    private static final String REQUEST_TIMER = "notes.discord.http.requests";
+
+    private final RestTemplate rest;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long maxRetryWaitMillis;
+    // Discord buckets are per route and per token, so exhausted buckets are tracked under both.
+    private final Cache<String, Long> exhaustedUntil;
+
+    private volatile long globalLimitUntil;
+
+    public DiscordHttpClient(
+        MeterRegistry meterRegistry,
+        Environment environment,
+        @Value("${notes.discord.http.connect-timeout-ms:2000}") long connectTimeoutMillis,
+        @Value("${notes.discord.http.read-timeout-ms:3000}") long readTimeoutMillis,
+        @Value("${notes.discord.http.max-attempts:2}") int maxAttempts,
+        @Value("${notes.discord.http.max-retry-wait-ms:1000}") long maxRetryWaitMillis,
+        @Value("${notes.discord.http.circuit.failure-threshold:5}") int failureThreshold,
+        @Value("${notes.discord.http.circuit.open-ms:30000}") long openMillis
+    ) {
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            httpClientBuilder.executor(new VirtualThreadTaskExecutor("discord-http-"));
+        }
+
+        HttpClient httpClient = httpClientBuilder.build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        this.rest = new RestTemplate(requestFactory);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.maxRetryWaitMillis = maxRetryWaitMillis;
+        this.exhaustedUntil = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+        Gauge.builder("notes.discord.http.circuit.open", circuitBreaker, breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sends a request to {@code path} under the Discord API. {@code endpoint} names the route for metrics
+     * and rate-limit tracking. 4xx responses surface as {@link HttpClientErrorException}; Discord being
+     * slow, failing or shed by the circuit breaker surfaces as {@link DiscordUnavailableException}.
+     */
+    public <T> ResponseEntity<T> exchange(String endpoint, HttpMethod method, String path, HttpEntity<?> entity, Class<T> type) {
+        String limitKey = endpoint + ':' + entity.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        for (int attempt = 1; ; attempt++) {
+            awaitRateLimit(endpoint, limitKey);
+
+            if (!circuitBreaker.tryAcquire()) {
+                counter("notes.discord.http.rejected", endpoint).increment();
+                throw new DiscordUnavailableException("Discord circuit is open");
+            }
+
+            long start = System.nanoTime();
+            String outcome = "error";
+
+            try {
+                ResponseEntity<T> response = rest.exchange(BASE_URL + path, method, entity, type);
+
+                outcome = String.valueOf(response.getStatusCode().value());
+                circuitBreaker.onSuccess();
+                trackRateLimit(limitKey, response.getHeaders());
+
+                return response;
+            } catch (HttpClientErrorException e) {
+                outcome = String.valueOf(e.getStatusCode().value());
+                // Client errors mean Discord is up and answering, so they never trip the breaker.
+                circuitBreaker.onSuccess();
+                trackRateLimit(limitKey, e.getResponseHeaders());
+
+                if (e.getStatusCode().value() != 429 || attempt >= maxAttempts) {
+                    throw e;
+                }
+
+                long waitMillis = retryAfterMillis(e.getResponseHeaders());
+
+                if (waitMillis > maxRetryWaitMillis) {
+                    throw e;
+                }
+
+                counter("notes.discord.http.retries", endpoint).increment();
+                sleep(waitMillis);
+            } catch (RestClientException e) {
+                if (e instanceof HttpServerErrorException serverError) {
+                    outcome = String.valueOf(serverError.getStatusCode().value());
+                }
+
+                circuitBreaker.onFailure();
+
+                throw new DiscordUnavailableException("Discord request failed: " + e.getMessage());
+            } finally {
+                Timer.builder(REQUEST_TIMER)
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void awaitRateLimit(String endpoint, String limitKey) {
+        Long bucketUntil = exhaustedUntil.getIfPresent(limitKey);
+        long until = Math.max(globalLimitUntil, bucketUntil != null ? bucketUntil : 0);
+        long waitMillis = until - System.currentTimeMillis();
+
+        if (waitMillis <= 0) {
+            return;
+        }
+
+        if (waitMillis > maxRetryWaitMillis) {
+            counter("notes.discord.http.rejected", endpoint).increment();
+            throw new DiscordUnavailableException("Discord rate limit exhausted for " + endpoint);
+        }
+
+        sleep(waitMillis);
+    }
+
+    private void trackRateLimit(String limitKey, HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+
+        String remaining = headers.getFirst("X-RateLimit-Remaining");
+        String resetAfter = headers.getFirst("X-RateLimit-Reset-After");
+        long now = System.currentTimeMillis();
+
+        if ("true".equalsIgnoreCase(headers.getFirst("X-RateLimit-Global"))) {
+            globalLimitUntil = now + retryAfterMillis(headers);
+            return;
+        }
+
+        if ("0".equals(remaining) && resetAfter != null) {
+            exhaustedUntil.put(limitKey, now + secondsToMillis(resetAfter));
+        } else if (remaining != null) {
+            exhaustedUntil.invalidate(limitKey);
+        }
+    }
+
+    private long retryAfterMillis(HttpHeaders headers) {
+        if (headers == null) {
+            return 0;
+        }
+
+        String retryAfter = headers.getFirst("Retry-After");
+
+        if (retryAfter == null) {
+            retryAfter = headers.getFirst("X-RateLimit-Reset-After");
+        }
+
+        return retryAfter == null ? 0 : secondsToMillis(retryAfter);
+    }
+
+    private long secondsToMillis(String seconds) {
+        try {
+            return (long) Math.ceil(Double.parseDouble(seconds) * 1000);
+        } catch (NumberFormatException e) {
+            log.debug("Unparseable Discord rate-limit header: {}", seconds);
+            return 0;
+        }
+    }
+
+    private Counter counter(String name, String endpoint) {
+        return Counter.builder(name).tag("endpoint", endpoint).register(meterRegistry);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DiscordUnavailableException("Interrupted while waiting on the Discord rate limit");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.notesapi.discord;
+
+public class DiscordUnavailableException extends RuntimeException {
+    public DiscordUnavailableException(String message) {
+        super(message);
+    }
+}
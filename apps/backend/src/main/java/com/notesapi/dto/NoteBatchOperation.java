@@ -0,0 +1,6 @@
+package com.notesapi.dto;
+
+import com.notesapi.models.Note;
+
+public record NoteBatchOperation(String op, Long id, Note note) {
+}
@@ -0,0 +1,19 @@
+package com.notesapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.notesapi.models.Note;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NoteBatchResult(int index, String op, int status, Long id, Note note, String error) {
+    public static NoteBatchResult success(int index, String op, int status, Note note) {
+        return new NoteBatchResult(index, op, status, note.getId(), note, null);
+    }
+
+    public static NoteBatchResult deleted(int index, Long id) {
+        return new NoteBatchResult(index, "delete", 204, id, null, null);
+    }
+
+    public static NoteBatchResult failure(int index, String op, int status, Long id, String error) {
+        return new NoteBatchResult(index, op, status, id, null, error);
+    }
+}
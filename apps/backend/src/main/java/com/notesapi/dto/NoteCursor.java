@@ -0,0 +1,38 @@
+package com.notesapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public record NoteCursor(Date createdAt, Long id) {
+    public String encode() {
+        String raw = createdAt.getTime() + ":" + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursor decode(String value) {
+        String raw;
+
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int separator = raw.indexOf(':');
+
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            long createdAt = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+
+            return new NoteCursor(new Date(createdAt), id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.notesapi.dto;
+
+public record NoteImportError(long line, String error) {
+}
@@ -0,0 +1,9 @@
+package com.notesapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NoteImportProgress(long lines, long imported, long failed, List<NoteImportError> errors, boolean done) {
+}
@@ -0,0 +1,6 @@
+package com.notesapi.dto;
+
+import java.util.List;
+
+public record NotePage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,19 @@
+package com.notesapi.dto;
+
+import java.util.Date;
+
+public interface NoteSearchHit {
+    Long getId();
+
+    String getTitle();
+
+    String getSnippet();
+
+    Date getCreatedAt();
+
+    Date getUpdatedAt();
+
+    String getVisibility();
+
+    Float getRank();
+}
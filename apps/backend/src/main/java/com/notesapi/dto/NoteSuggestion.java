@@ -0,0 +1,4 @@
+package com.notesapi.dto;
+
+public record NoteSuggestion(Long id, String title) {
+}
@@ -0,0 +1,14 @@
+package com.notesapi.dto;
+
+import java.util.Date;
+
+public record NoteSummary(
+    Long id,
+    String title,
+    String preview,
+    Date createdAt,
+    Date updatedAt,
+    String visibility,
+    Date alertAt
+) {
+}
@@ -0,0 +1,6 @@
+package com.notesapi.dto;
+
+import java.util.Date;
+
+public record PendingAlert(Long noteId, Date alertAt) {
+}
@@ -0,0 +1,37 @@
+package com.notesapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record SearchCursor(float rank, long id) {
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + ":" + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String value) {
+        String raw;
+
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int separator = raw.indexOf(':');
+
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            float rank = Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator)));
+            long id = Long.parseLong(raw.substring(separator + 1));
+
+            return new SearchCursor(rank, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.notesapi.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "notes.events.bus", havingValue = "local", matchIfMissing = true)
+public class LocalNoteEventBus implements NoteEventBus {
+    private final NoteEventFanout fanout;
+
+    public LocalNoteEventBus(NoteEventFanout fanout) {
+        this.fanout = fanout;
+    }
+
+    @Override
+    public void publish(List<NoteChangeEvent> events) {
+        fanout.deliver(events);
+    }
+}
@@ -0,0 +1,24 @@
+package com.notesapi.events;
+
+import com.notesapi.models.NoteEventType;
+import com.notesapi.models.OutboxEvent;
+
+public record NoteChangeEvent(
+    NoteEventType type,
+    Long noteId,
+    Long discordUserId,
+    Long channelId,
+    String visibility,
+    Long version
+) {
+    public static NoteChangeEvent from(OutboxEvent event) {
+        return new NoteChangeEvent(
+            event.getType(),
+            event.getNoteId(),
+            event.getDiscordUserId(),
+            event.getChannelId(),
+            event.getVisibility(),
+            event.getVersion()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.notesapi.events;
+
+import java.util.List;
+
+public interface NoteEventBus {
+    void publish(List<NoteChangeEvent> events);
+}
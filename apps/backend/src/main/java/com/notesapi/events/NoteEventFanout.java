@@ -0,0 +1,115 @@
+package com.notesapi.events;
+
+import com.notesapi.cache.NoteCache;
+import com.notesapi.models.Note;
+import com.notesapi.models.NoteEventType;
+import com.notesapi.repositories.NoteRepository;
+import com.notesapi.search.TitleSuggestIndex;
+import com.notesapi.websocket.NotesWebSocketHandler;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class NoteEventFanout {
+    private final NoteRepository noteRepository;
+    private final NotesWebSocketHandler notesWebSocketHandler;
+    private final NoteCache noteCache;
+    private final TitleSuggestIndex titleSuggestIndex;
+
+    public NoteEventFanout(
+        NoteRepository noteRepository,
+        NotesWebSocketHandler notesWebSocketHandler,
+        NoteCache noteCache,
+        TitleSuggestIndex titleSuggestIndex
+    ) {
+        this.noteRepository = noteRepository;
+        this.notesWebSocketHandler = notesWebSocketHandler;
+        this.noteCache = noteCache;
+        this.titleSuggestIndex = titleSuggestIndex;
+    }
+
+    // Called when events may have been missed, e.g. while the bus was reconnecting: nothing cached before
+    // that point can be trusted, since the evictions for it may never arrive.
+    public void resync() {
+        noteCache.clear();
+        titleSuggestIndex.clear();
+    }
+
+    public void deliver(List<NoteChangeEvent> events) {
+        List<Long> upsertedIds = new ArrayList<>();
+        List<Long> alertedIds = new ArrayList<>();
+        List<Long> retitledIds = new ArrayList<>();
+        List<NoteChangeEvent> deleted = new ArrayList<>();
+
+        for (NoteChangeEvent event : events) {
+            // Writes on other nodes only reach this node's cache and title index through the event bus, whether or
+            // not anyone here is subscribed to them.
+            noteCache.evict(event.noteId(), event.discordUserId());
+
+            if (event.type() == NoteEventType.DELETED) {
+                titleSuggestIndex.onDelete(event.noteId(), event.discordUserId());
+            } else if (event.type() != NoteEventType.ALERTED && titleSuggestIndex.isIndexed(event.discordUserId())) {
+                retitledIds.add(event.noteId());
+            }
+
+            if (!notesWebSocketHandler.hasSessionsFor(event)) {
+                continue;
+            }
+
+            switch (event.type()) {
+                case DELETED -> deleted.add(event);
+                case ALERTED -> alertedIds.add(event.noteId());
+                default -> upsertedIds.add(event.noteId());
+            }
+        }
+
+        if (upsertedIds.isEmpty() && alertedIds.isEmpty() && retitledIds.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+
+        Set<Long> loadIds = new HashSet<>(upsertedIds);
+
+        loadIds.addAll(alertedIds);
+        loadIds.addAll(retitledIds);
+
+        Map<Long, Note> loaded = new HashMap<>();
+
+        if (!loadIds.isEmpty()) {
+            for (Note note : noteRepository.findAllWithBodyByIdIn(loadIds)) {
+                loaded.put(note.getId(), note);
+            }
+        }
+
+        // A note deleted since its event was sent is not loaded; its DELETED event removes it from the index.
+        for (Note note : pick(loaded, retitledIds)) {
+            titleSuggestIndex.onUpsert(note.getId(), note.getDiscordUserId(), note.getTitle());
+        }
+
+        if (upsertedIds.isEmpty() && alertedIds.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+
+        notesWebSocketHandler.broadcastAll(pick(loaded, upsertedIds), deleted, pick(loaded, alertedIds));
+    }
+
+    private List<Note> pick(Map<Long, Note> loaded, List<Long> ids) {
+        List<Note> notes = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            Note note = loaded.get(id);
+
+            if (note != null) {
+                notes.add(note);
+            }
+        }
+
+        return notes;
+    }
+}
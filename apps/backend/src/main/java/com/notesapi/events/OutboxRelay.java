@@ -0,0 +1,107 @@
+package com.notesapi.events;
+
+import com.notesapi.models.NoteEventType;
+import com.notesapi.models.OutboxEvent;
+import com.notesapi.repositories.OutboxEventRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NoteEventBus noteEventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final long coalesceWindowMillis;
+    private final long maxDelayMillis;
+    private final int batchSize;
+
+    public OutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        NoteEventBus noteEventBus,
+        TransactionTemplate transactionTemplate,
+        @Value("${notes.outbox.coalesce-window-ms:500}") long coalesceWindowMillis,
+        @Value("${notes.outbox.max-delay-ms:2000}") long maxDelayMillis,
+        @Value("${notes.outbox.batch-size:500}") int batchSize
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.noteEventBus = noteEventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${notes.outbox.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            List<NoteChangeEvent> events;
+
+            do {
+                // Publishing inside the claim transaction keeps the rows until the events are out: NOTIFY is only
+                // sent when the delete commits, and a failed publish rolls the delete back for the next poll.
+                events = transactionTemplate.execute(status -> {
+                    List<NoteChangeEvent> coalesced = claimAndCoalesce();
+
+                    if (!coalesced.isEmpty()) {
+                        noteEventBus.publish(coalesced);
+                    }
+
+                    return coalesced;
+                });
+            } while (events != null && events.size() >= batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    private List<NoteChangeEvent> claimAndCoalesce() {
+        long now = System.currentTimeMillis();
+        List<OutboxEvent> claimed = outboxEventRepository.claimSettledBatch(
+            new Date(now - coalesceWindowMillis),
+            new Date(now - maxDelayMillis),
+            batchSize
+        );
+
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(claimed.stream().map(OutboxEvent::getId).toList());
+
+        Map<Long, NoteChangeEvent> latestByNote = new LinkedHashMap<>();
+        Map<Long, NoteChangeEvent> alertsByNote = new LinkedHashMap<>();
+
+        for (OutboxEvent event : claimed) {
+            // An alert is not superseded by a later change to its note, so it is coalesced only with other alerts.
+            if (event.getType() == NoteEventType.ALERTED) {
+                alertsByNote.put(event.getNoteId(), NoteChangeEvent.from(event));
+                continue;
+            }
+
+            NoteChangeEvent previous = latestByNote.get(event.getNoteId());
+
+            if (previous == null || previous.type() != NoteEventType.DELETED) {
+                latestByNote.put(event.getNoteId(), NoteChangeEvent.from(event));
+            }
+        }
+
+        List<NoteChangeEvent> events = new ArrayList<>(latestByNote.values());
+
+        events.addAll(alertsByNote.values());
+
+        return events;
+    }
+}
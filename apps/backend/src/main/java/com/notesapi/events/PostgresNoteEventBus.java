@@ -0,0 +1,169 @@
+package com.notesapi.events;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "notes.events.bus", havingValue = "postgres")
+public class PostgresNoteEventBus implements NoteEventBus, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(PostgresNoteEventBus.class);
+
+    private static final String CHANNEL = "note_events";
+    // NOTIFY payloads must stay under 8000 bytes; leave room for the array brackets and separators.
+    private static final int MAX_PAYLOAD_BYTES = 7500;
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final NoteEventFanout fanout;
+    private final ObjectMapper mapper;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresNoteEventBus(
+        JdbcTemplate jdbcTemplate,
+        DataSourceProperties dataSourceProperties,
+        NoteEventFanout fanout,
+        ObjectMapper mapper
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.fanout = fanout;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void publish(List<NoteChangeEvent> events) {
+        StringBuilder payload = new StringBuilder("[");
+        int payloadBytes = 1;
+
+        for (NoteChangeEvent event : events) {
+            String json;
+
+            try {
+                json = mapper.writeValueAsString(event);
+            } catch (Exception e) {
+                log.warn("Failed to serialize note event {}: {}", event.noteId(), e.getMessage());
+                continue;
+            }
+
+            int eventBytes = json.getBytes(StandardCharsets.UTF_8).length + 1;
+
+            if (payloadBytes > 1 && payloadBytes + eventBytes > MAX_PAYLOAD_BYTES) {
+                notify(payload.append(']').toString());
+                payload.setLength(1);
+                payloadBytes = 1;
+            }
+
+            if (payloadBytes > 1) {
+                payload.append(',');
+            }
+
+            payload.append(json);
+            payloadBytes += eventBytes;
+        }
+
+        if (payloadBytes > 1) {
+            notify(payload.append(']').toString());
+        }
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, payload);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "note-events-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+            )) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Notifications sent before LISTEN took effect are gone; drop whatever they would have evicted.
+                fanout.resync();
+
+                log.info("Listening for note events on Postgres channel '{}'", CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+
+                    if (notifications == null) {
+                        continue;
+                    }
+
+                    List<NoteChangeEvent> events = new ArrayList<>();
+
+                    for (PGNotification notification : notifications) {
+                        events.addAll(mapper.readValue(notification.getParameter(), new TypeReference<List<NoteChangeEvent>>() {}));
+                    }
+
+                    try {
+                        fanout.deliver(events);
+                    } catch (Exception e) {
+                        log.warn("Failed to fan out {} note events: {}", events.size(), e.getMessage());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+
+                log.warn("Note event listener lost its connection, reconnecting: {}", e.getMessage());
+
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
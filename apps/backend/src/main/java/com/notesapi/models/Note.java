@@ -1,19 +1,32 @@
 package com.notesapi.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.util.Date;
+import java.util.Objects;
 
 @Entity
+@DynamicUpdate
+@JsonPropertyOrder({"id", "version", "createdAt", "updatedAt", "title", "content"})
 @Table(name = "notes", indexes = {
     @Index(columnList = "server_id"),
     @Index(columnList = "channel_id"),
-    @Index(columnList = "discord_user_id")
+    @Index(name = "idx_notes_user_created_id", columnList = "discord_user_id, created_at DESC, id DESC")
 })
 public class Note {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notes_seq")
+    @SequenceGenerator(name = "notes_seq", sequenceName = "notes_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(nullable = false, updatable = false)
     private Date createdAt = new Date();
@@ -26,6 +39,10 @@ public class Note {
     protected void onCreate() {
         createdAt = new Date();
         updatedAt = new Date();
+
+        if (body == null) {
+            body = new NoteBody(this, null);
+        }
     }
 
     @PreUpdate
@@ -36,8 +53,15 @@ public class Note {
     @Column(nullable = false, length = 255)
     private String title;
 
-    @Column(columnDefinition = "TEXT")
-    private String content;
+    // Joined on the note's own id and loaded only when the content is read; queries that return notes with their
+    // content fetch it up front instead. The foreign key runs the other way, from note_bodies (db/004). Removal is
+    // left to that key's ON DELETE CASCADE: it runs as soon as the note row goes, so a cascaded Hibernate delete of the
+    // body would find no row and fail the flush as stale.
+    @OneToOne(fetch = FetchType.LAZY, optional = false,
+        cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH})
+    @JoinColumn(name = "id", insertable = false, updatable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    private NoteBody body;
 
     @Column(nullable = false)
     private Long serverId;
@@ -54,6 +78,10 @@ public class Note {
     @Temporal(TemporalType.TIMESTAMP)
     private Date alertAt;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Date alertSentAt;
+
     public Note() {
         Date now = new Date();
 
@@ -65,7 +93,7 @@ public class Note {
         this();
 
         this.title = title;
-        this.content = content;
+        this.body = new NoteBody(this, content);
         this.serverId = serverId;
         this.channelId = channelId;
         this.discordUserId = discordUserId;
@@ -75,6 +103,10 @@ public class Note {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -87,12 +119,16 @@ public class Note {
         return alertAt;
     }
 
+    public Date getAlertSentAt() {
+        return alertSentAt;
+    }
+
     public String getTitle() {
         return title;
     }
 
     public String getContent() {
-        return content;
+        return body == null ? null : body.getContent();
     }
 
     public Long getServerId() {
@@ -115,8 +151,14 @@ public class Note {
         this.title = title;
     }
 
+    // The body has no version of its own, so a content change also touches the note, which bumps its version.
     public void setContent(String content) {
-        this.content = content;
+        if (body == null) {
+            body = new NoteBody(this, content);
+        } else if (!Objects.equals(body.getContent(), content)) {
+            body.setContent(content);
+            updatedAt = new Date();
+        }
     }
 
     public void setServerId(Long serverId) {
@@ -138,4 +180,8 @@ public class Note {
     public void setAlertAt(Date alertAt) {
         this.alertAt = alertAt;
     }
+
+    public void setAlertSentAt(Date alertSentAt) {
+        this.alertSentAt = alertSentAt;
+    }
 }
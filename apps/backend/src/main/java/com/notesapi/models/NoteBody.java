@@ -0,0 +1,49 @@
+package com.notesapi.models;
+
+import jakarta.persistence.*;
+
+/**
+ * A note's content, kept one-to-one with its notes row in a table of its own so that everything reading
+ * only note metadata (listings of summaries, ownership checks, alert scans) never touches the body.
+ */
+@Entity
+@Table(name = "note_bodies")
+public class NoteBody {
+    @Id
+    @Column(name = "note_id")
+    private Long noteId;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Transient
+    private Note note;
+
+    protected NoteBody() {
+    }
+
+    NoteBody(Note note, String content) {
+        this.note = note;
+        this.content = content;
+    }
+
+    // Persisted by cascade from its note, once the note has drawn its id from the sequence.
+    @PrePersist
+    protected void onCreate() {
+        if (noteId == null) {
+            noteId = note.getId();
+        }
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
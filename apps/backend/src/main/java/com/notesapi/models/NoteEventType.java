@@ -0,0 +1,7 @@
+package com.notesapi.models;
+
+public enum NoteEventType {
+    UPSERTED,
+    DELETED,
+    ALERTED
+}
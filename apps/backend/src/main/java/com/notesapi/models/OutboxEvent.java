@@ -0,0 +1,79 @@
+package com.notesapi.models;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "note_outbox", indexes = {
+    @Index(columnList = "note_id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_outbox_seq")
+    @SequenceGenerator(name = "note_outbox_seq", sequenceName = "note_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "note_id", nullable = false)
+    private Long noteId;
+
+    @Column(name = "discord_user_id", nullable = false)
+    private Long discordUserId;
+
+    private Long channelId;
+
+    private String visibility;
+
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private NoteEventType type;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date createdAt = new Date();
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(NoteEventType type, Note note) {
+        this.type = type;
+        this.noteId = note.getId();
+        this.discordUserId = note.getDiscordUserId();
+        this.channelId = note.getChannelId();
+        this.visibility = note.getVisibility();
+        this.version = note.getVersion();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public Long getDiscordUserId() {
+        return discordUserId;
+    }
+
+    public Long getChannelId() {
+        return channelId;
+    }
+
+    public String getVisibility() {
+        return visibility;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public NoteEventType getType() {
+        return type;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
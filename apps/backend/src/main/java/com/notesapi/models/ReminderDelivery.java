@@ -0,0 +1,78 @@
+package com.notesapi.models;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "note_reminders")
+public class ReminderDelivery {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_reminders_seq")
+    @SequenceGenerator(name = "note_reminders_seq", sequenceName = "note_reminders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "note_id", nullable = false)
+    private Long noteId;
+
+    @Column(name = "discord_user_id", nullable = false)
+    private Long discordUserId;
+
+    private Long serverId;
+
+    private Long channelId;
+
+    @Column(length = 255)
+    private String title;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date alertAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date createdAt = new Date();
+
+    protected ReminderDelivery() {
+    }
+
+    public ReminderDelivery(Note note) {
+        this.noteId = note.getId();
+        this.discordUserId = note.getDiscordUserId();
+        this.serverId = note.getServerId();
+        this.channelId = note.getChannelId();
+        this.title = note.getTitle();
+        this.alertAt = note.getAlertAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public Long getDiscordUserId() {
+        return discordUserId;
+    }
+
+    public Long getServerId() {
+        return serverId;
+    }
+
+    public Long getChannelId() {
+        return channelId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Date getAlertAt() {
+        return alertAt;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
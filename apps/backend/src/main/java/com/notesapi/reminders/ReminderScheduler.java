@@ -0,0 +1,163 @@
+package com.notesapi.reminders;
+
+import com.notesapi.dto.PendingAlert;
+import com.notesapi.models.Note;
+import com.notesapi.models.NoteEventType;
+import com.notesapi.models.OutboxEvent;
+import com.notesapi.models.ReminderDelivery;
+import com.notesapi.repositories.NoteRepository;
+import com.notesapi.repositories.OutboxEventRepository;
+import com.notesapi.repositories.ReminderDeliveryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps only alerts due within the next window in a timing wheel and fires them in batches. Firing
+ * claims the note row, so every node may hold the same alert but only one delivers it. The claim, the
+ * bot's delivery row and the WebSocket alert's outbox row commit together, so a crash loses none of them.
+ */
+@Component
+public class ReminderScheduler {
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private static final int WHEEL_SIZE = 1024;
+
+    private final NoteRepository noteRepository;
+    private final ReminderDeliveryRepository reminderDeliveryRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final long refreshIntervalMillis;
+    private final int maxLoaded;
+    private final int batchSize;
+    private final TimingWheel wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+
+    private long loadedUntil;
+    private long nextRefreshAt;
+
+    public ReminderScheduler(
+        NoteRepository noteRepository,
+        ReminderDeliveryRepository reminderDeliveryRepository,
+        OutboxEventRepository outboxEventRepository,
+        TransactionTemplate transactionTemplate,
+        @Value("${notes.reminders.tick-ms:200}") long tickMillis,
+        @Value("${notes.reminders.window-ms:120000}") long windowMillis,
+        @Value("${notes.reminders.refresh-interval-ms:30000}") long refreshIntervalMillis,
+        @Value("${notes.reminders.max-loaded:50000}") int maxLoaded,
+        @Value("${notes.reminders.batch-size:500}") int batchSize
+    ) {
+        this.noteRepository = noteRepository;
+        this.reminderDeliveryRepository = reminderDeliveryRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.windowMillis = windowMillis;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxLoaded = maxLoaded;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${notes.reminders.tick-ms:200}")
+    public void tick() {
+        try {
+            long now = System.currentTimeMillis();
+
+            if (now >= nextRefreshAt) {
+                refresh(now);
+            }
+
+            List<Long> due;
+
+            wheelLock.lock();
+
+            try {
+                due = wheel.advance(now);
+            } finally {
+                wheelLock.unlock();
+            }
+
+            for (int from = 0; from < due.size(); from += batchSize) {
+                fire(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+        } catch (Exception e) {
+            log.warn("Reminder tick failed: {}", e.getMessage());
+        }
+    }
+
+    public void reschedule(Long noteId, Date alertAt, Date alertSentAt) {
+        wheelLock.lock();
+
+        try {
+            if (alertAt == null || alertSentAt != null || alertAt.getTime() > loadedUntil) {
+                wheel.cancel(noteId);
+            } else {
+                wheel.schedule(noteId, alertAt.getTime());
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public void cancel(Long noteId) {
+        wheelLock.lock();
+
+        try {
+            wheel.cancel(noteId);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    // Overdue alerts are part of the window too, which is how alerts missed while no node was running get fired.
+    private void refresh(long now) {
+        List<PendingAlert> pending = noteRepository.findPendingAlerts(new Date(now + windowMillis), Limit.of(maxLoaded));
+        long until = now + windowMillis;
+
+        // A full load may have cut the window short; only trust it up to the last alert actually loaded.
+        if (pending.size() >= maxLoaded) {
+            until = pending.get(pending.size() - 1).alertAt().getTime();
+        }
+
+        wheelLock.lock();
+
+        try {
+            loadedUntil = until;
+
+            for (PendingAlert alert : pending) {
+                wheel.schedule(alert.noteId(), alert.alertAt().getTime());
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+
+        nextRefreshAt = Math.min(now + refreshIntervalMillis, until);
+    }
+
+    private void fire(List<Long> noteIds) {
+        List<Note> claimed = transactionTemplate.execute(status -> {
+            List<Note> notes = noteRepository.claimDueAlerts(noteIds, new Date());
+
+            reminderDeliveryRepository.saveAll(notes.stream().map(ReminderDelivery::new).toList());
+            outboxEventRepository.saveAll(notes.stream().map(note -> new OutboxEvent(NoteEventType.ALERTED, note)).toList());
+
+            return notes;
+        });
+
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        log.debug("Fired {} reminders", claimed.size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.notesapi.reminders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel keyed by note id. Rescheduling or cancelling only updates the deadline map;
+ * stale bucket entries are dropped when their bucket comes around.
+ */
+final class TimingWheel {
+    private final long tickMillis;
+    private final List<Entry>[] buckets;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new List[wheelSize];
+        this.currentTick = nowMillis / tickMillis;
+
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+    }
+
+    void schedule(long noteId, long deadlineMillis) {
+        Long previous = deadlines.put(noteId, deadlineMillis);
+
+        if (previous != null && previous == deadlineMillis) {
+            return;
+        }
+
+        // Rounding up means a bucket only fires once the clock has passed every deadline in it.
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), currentTick + 1);
+
+        buckets[(int) (tick % buckets.length)].add(new Entry(noteId, deadlineMillis, tick));
+    }
+
+    void cancel(long noteId) {
+        deadlines.remove(noteId);
+    }
+
+    List<Long> advance(long nowMillis) {
+        List<Long> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            Iterator<Entry> entries = buckets[(int) (currentTick % buckets.length)].iterator();
+
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                Long deadline = deadlines.get(entry.noteId());
+
+                if (deadline == null || deadline != entry.deadlineMillis()) {
+                    entries.remove();
+                } else if (entry.tick() <= currentTick) {
+                    entries.remove();
+                    deadlines.remove(entry.noteId());
+                    due.add(entry.noteId());
+                }
+            }
+        }
+
+        return due;
+    }
+
+    int size() {
+        return deadlines.size();
+    }
+
+    private record Entry(long noteId, long deadlineMillis, long tick) {
+    }
+}
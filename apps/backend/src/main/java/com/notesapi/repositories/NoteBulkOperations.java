@@ -0,0 +1,13 @@
+package com.notesapi.repositories;
+
+import com.notesapi.models.Note;
+
+import java.util.List;
+
+public interface NoteBulkOperations {
+    /**
+     * Inserts the notes for one user as a single JDBC batch, keeping their own timestamps, and returns the new ids
+     * in the same order. Ids, versions and the owner in the notes themselves are ignored.
+     */
+    List<Long> insertAll(Long discordUserId, List<Note> notes);
+}
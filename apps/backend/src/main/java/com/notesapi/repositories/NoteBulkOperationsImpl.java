@@ -0,0 +1,82 @@
+package com.notesapi.repositories;
+
+import com.notesapi.models.Note;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+
+class NoteBulkOperationsImpl implements NoteBulkOperations {
+    private static final String INSERT_SQL = """
+        INSERT INTO notes (id, version, created_at, updated_at, title, server_id, channel_id,
+                           discord_user_id, visibility, alert_at, alert_sent_at)
+        VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String INSERT_BODY_SQL = "INSERT INTO note_bodies (note_id, content) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    NoteBulkOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertAll(Long discordUserId, List<Note> notes) {
+        // One round trip for all the ids, drawn from the same sequence Hibernate uses.
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT nextval('notes_seq') FROM generate_series(1, ?)", Long.class, notes.size()
+        );
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Note note = notes.get(i);
+                Timestamp createdAt = note.getCreatedAt() != null ? timestamp(note.getCreatedAt()) : now;
+
+                ps.setLong(1, ids.get(i));
+                ps.setTimestamp(2, createdAt);
+                ps.setTimestamp(3, note.getUpdatedAt() != null ? timestamp(note.getUpdatedAt()) : createdAt);
+                ps.setString(4, note.getTitle());
+                ps.setLong(5, note.getServerId());
+                ps.setLong(6, note.getChannelId());
+                ps.setLong(7, discordUserId);
+                ps.setString(8, note.getVisibility());
+                ps.setObject(9, timestamp(note.getAlertAt()), Types.TIMESTAMP);
+                ps.setObject(10, timestamp(note.getAlertSentAt()), Types.TIMESTAMP);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return notes.size();
+            }
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_BODY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, notes.get(i).getContent());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return notes.size();
+            }
+        });
+
+        return ids;
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+}
@@ -1,13 +1,191 @@
 package com.notesapi.repositories;
 
+import com.notesapi.dto.NoteSearchHit;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.dto.NoteSummary;
+import com.notesapi.dto.PendingAlert;
 import com.notesapi.models.Note;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface NoteRepository extends JpaRepository<Note, Long> {
+public interface NoteRepository extends JpaRepository<Note, Long>, NoteBulkOperations {
     List<Note> findByDiscordUserId(Long discordUserId);
     Optional<Note> findByIdAndDiscordUserId(Long id, Long discordUserId);
-    void deleteByIdAndDiscordUserId(Long id, Long discordUserId);
+
+    @Query("SELECT n FROM Note n LEFT JOIN FETCH n.body WHERE n.id = :id")
+    Optional<Note> findWithBodyById(@Param("id") Long id);
+
+    @Query("SELECT n FROM Note n LEFT JOIN FETCH n.body WHERE n.id IN :ids")
+    List<Note> findAllWithBodyByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT n.discordUserId FROM Note n WHERE n.id = :id")
+    Optional<Long> findOwnerById(@Param("id") Long id);
+
+    // The body is written in the same statement, and only when the ownership and version checks let the note through.
+    @Query(nativeQuery = true, value = """
+        WITH updated AS (
+            UPDATE notes SET
+                title = :title,
+                visibility = COALESCE(CAST(:visibility AS varchar), visibility),
+                alert_at = COALESCE(CAST(:alertAt AS timestamp), alert_at),
+                alert_sent_at = CASE WHEN CAST(:alertAt AS timestamp) IS NULL THEN alert_sent_at END,
+                updated_at = :updatedAt,
+                version = version + 1
+            WHERE id = :id AND discord_user_id = :discordUserId
+              AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion)
+            RETURNING *
+        ), body AS (
+            UPDATE note_bodies b SET content = :content
+            FROM updated u
+            WHERE b.note_id = u.id
+        )
+        SELECT * FROM updated
+        """)
+    Optional<Note> updateOwned(
+        @Param("id") Long id,
+        @Param("discordUserId") Long discordUserId,
+        @Param("expectedVersion") Long expectedVersion,
+        @Param("title") String title,
+        @Param("content") String content,
+        @Param("visibility") String visibility,
+        @Param("alertAt") Date alertAt,
+        @Param("updatedAt") Date updatedAt
+    );
+
+    @Query(nativeQuery = true, value = """
+        DELETE FROM notes
+        WHERE id = :id AND discord_user_id = :discordUserId
+          AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion)
+        RETURNING *
+        """)
+    Optional<Note> deleteOwned(
+        @Param("id") Long id,
+        @Param("discordUserId") Long discordUserId,
+        @Param("expectedVersion") Long expectedVersion
+    );
+
+    @Query("""
+        SELECT n FROM Note n LEFT JOIN FETCH n.body
+        WHERE n.discordUserId = :discordUserId
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<Note> findFirstPage(@Param("discordUserId") Long discordUserId, Limit limit);
+
+    @Query("""
+        SELECT n FROM Note n LEFT JOIN FETCH n.body
+        WHERE n.discordUserId = :discordUserId
+          AND n.createdAt <= :createdAt
+          AND (n.createdAt < :createdAt OR n.id < :id)
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<Note> findPageAfter(
+        @Param("discordUserId") Long discordUserId,
+        @Param("createdAt") Date createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    // Postgres only honours the fetch size inside a transaction, where it reads through a server-side cursor.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT n FROM Note n LEFT JOIN FETCH n.body
+        WHERE n.discordUserId = :discordUserId
+        ORDER BY n.createdAt, n.id
+        """)
+    Stream<Note> streamByDiscordUserId(@Param("discordUserId") Long discordUserId);
+
+    @Query("""
+        SELECT new com.notesapi.dto.NoteSummary(
+            n.id, n.title, SUBSTRING(b.content, 1, :previewLength),
+            n.createdAt, n.updatedAt, n.visibility, n.alertAt
+        )
+        FROM Note n LEFT JOIN n.body b
+        WHERE n.discordUserId = :discordUserId
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<NoteSummary> findFirstSummaryPage(
+        @Param("discordUserId") Long discordUserId,
+        @Param("previewLength") int previewLength,
+        Limit limit
+    );
+
+    @Query("""
+        SELECT new com.notesapi.dto.NoteSummary(
+            n.id, n.title, SUBSTRING(b.content, 1, :previewLength),
+            n.createdAt, n.updatedAt, n.visibility, n.alertAt
+        )
+        FROM Note n LEFT JOIN n.body b
+        WHERE n.discordUserId = :discordUserId
+          AND n.createdAt <= :createdAt
+          AND (n.createdAt < :createdAt OR n.id < :id)
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<NoteSummary> findSummaryPageAfter(
+        @Param("discordUserId") Long discordUserId,
+        @Param("createdAt") Date createdAt,
+        @Param("id") Long id,
+        @Param("previewLength") int previewLength,
+        Limit limit
+    );
+
+    @Query(nativeQuery = true, value = """
+        SELECT p.id AS "id", p.title AS "title", p.created_at AS "createdAt", p.updated_at AS "updatedAt",
+               p.visibility AS "visibility", p.rank AS "rank",
+               ts_headline('simple', coalesce(p.content, ''), p.query,
+                   'MaxFragments=2, MaxWords=20, MinWords=5, StartSel=**, StopSel=**') AS "snippet"
+        FROM (
+            SELECT n.id, n.title, b.content, n.created_at, n.updated_at, n.visibility, q.query,
+                   ts_rank_cd(n.title_vector || b.content_vector, q.query) AS rank
+            FROM notes n
+            JOIN note_bodies b ON b.note_id = n.id
+            CROSS JOIN websearch_to_tsquery('simple', :query) AS q(query)
+            WHERE n.discord_user_id = :discordUserId
+              AND (n.title_vector @@ q.query OR b.content_vector @@ q.query)
+              AND (CAST(:afterId AS bigint) IS NULL
+                   OR ts_rank_cd(n.title_vector || b.content_vector, q.query) < CAST(:afterRank AS real)
+                   OR (ts_rank_cd(n.title_vector || b.content_vector, q.query) = CAST(:afterRank AS real) AND n.id < :afterId))
+            ORDER BY rank DESC, n.id DESC
+            LIMIT :limit
+        ) p
+        ORDER BY p.rank DESC, p.id DESC
+        """)
+    List<NoteSearchHit> search(
+        @Param("discordUserId") Long discordUserId,
+        @Param("query") String query,
+        @Param("afterRank") Float afterRank,
+        @Param("afterId") Long afterId,
+        @Param("limit") int limit
+    );
+
+    @Query("""
+        SELECT new com.notesapi.dto.PendingAlert(n.id, n.alertAt)
+        FROM Note n
+        WHERE n.alertAt < :until AND n.alertSentAt IS NULL
+        ORDER BY n.alertAt
+        """)
+    List<PendingAlert> findPendingAlerts(@Param("until") Date until, Limit limit);
+
+    @Query(nativeQuery = true, value = """
+        UPDATE notes SET alert_sent_at = :now, version = version + 1
+        WHERE id IN (:ids) AND alert_at <= :now AND alert_sent_at IS NULL
+        RETURNING *
+        """)
+    List<Note> claimDueAlerts(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+
+    @Query("SELECT new com.notesapi.dto.NoteSuggestion(n.id, n.title) FROM Note n WHERE n.discordUserId = :discordUserId")
+    List<NoteSuggestion> findTitlesByDiscordUserId(@Param("discordUserId") Long discordUserId);
 }
@@ -0,0 +1,28 @@
+package com.notesapi.repositories;
+
+import com.notesapi.models.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query(nativeQuery = true, value = """
+        SELECT * FROM note_outbox
+        WHERE note_id IN (
+            SELECT note_id FROM note_outbox
+            GROUP BY note_id
+            HAVING max(created_at) < :quietSince OR min(created_at) < :maxDelaySince
+            LIMIT :limit
+        )
+        ORDER BY id
+        FOR UPDATE SKIP LOCKED
+        """)
+    List<OutboxEvent> claimSettledBatch(
+        @Param("quietSince") Date quietSince,
+        @Param("maxDelaySince") Date maxDelaySince,
+        @Param("limit") int limit
+    );
+}
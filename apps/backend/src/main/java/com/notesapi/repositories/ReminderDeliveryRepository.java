@@ -0,0 +1,11 @@
+package com.notesapi.repositories;
+
+import com.notesapi.models.ReminderDelivery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReminderDeliveryRepository extends JpaRepository<ReminderDelivery, Long> {
+    List<ReminderDelivery> findAllByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,122 @@
+package com.notesapi.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from non-negative long keys to int values, so index lookups avoid boxing.
+ */
+final class LongIntHashMap {
+    static final int MISSING = -1;
+
+    private static final long EMPTY = -1L;
+    private static final long DELETED = -2L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int used;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long current = keys[i];
+
+            if (current == key) {
+                return values[i];
+            }
+
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if ((used + 1) * 4 >= keys.length * 3) {
+            rehash(size * 4 >= keys.length ? keys.length * 2 : keys.length);
+        }
+
+        int mask = keys.length - 1;
+        int firstDeleted = -1;
+
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long current = keys[i];
+
+            if (current == key) {
+                values[i] = value;
+                return;
+            }
+
+            if (current == DELETED && firstDeleted < 0) {
+                firstDeleted = i;
+            }
+
+            if (current == EMPTY) {
+                int slot = firstDeleted >= 0 ? firstDeleted : i;
+
+                if (slot == i) {
+                    used++;
+                }
+
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    int remove(long key) {
+        int mask = keys.length - 1;
+
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long current = keys[i];
+
+            if (current == key) {
+                keys[i] = DELETED;
+                size--;
+                return values[i];
+            }
+
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        used = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] >= 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32));
+    }
+}
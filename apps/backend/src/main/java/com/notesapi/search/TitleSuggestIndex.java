@@ -0,0 +1,96 @@
+package com.notesapi.search;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.repositories.NoteRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class TitleSuggestIndex {
+    private final NoteRepository noteRepository;
+    private final AsyncCache<Long, UserTitleIndex> indexesByUser;
+
+    public TitleSuggestIndex(
+        NoteRepository noteRepository,
+        MeterRegistry meterRegistry,
+        @Value("${notes.suggest.max-users:1000}") long maxUsers,
+        @Value("${notes.suggest.rebuild-after-minutes:10}") long rebuildAfterMinutes
+    ) {
+        this.noteRepository = noteRepository;
+
+        Duration rebuildAfter = Duration.ofMinutes(rebuildAfterMinutes);
+
+        // Writes from other nodes arrive through the event bus, which can miss some while it reconnects, so indexes
+        // are still rebuilt periodically to bound staleness. The clock starts when an index is built: applying a local write replaces the entry's future, and
+        // expireAfterWrite would restart it then, so a user writing often would never get a rebuild.
+        this.indexesByUser = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfter(Expiry.creating((Long discordUserId, UserTitleIndex index) -> rebuildAfter))
+            .recordStats()
+            .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexesByUser, "notes.title-index");
+    }
+
+    // The build query runs on the caller's thread outside the cache's lock, so it never pins a virtual thread.
+    public List<NoteSuggestion> suggest(Long discordUserId, String query, int limit) {
+        CompletableFuture<UserTitleIndex> pending = new CompletableFuture<>();
+        CompletableFuture<UserTitleIndex> index = indexesByUser.get(discordUserId, (key, executor) -> pending);
+
+        if (index == pending) {
+            try {
+                pending.complete(build(discordUserId));
+            } catch (RuntimeException | Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        return index.join().search(query, limit);
+    }
+
+    // Writes are chained onto the index's future, so one committed while a build is in flight is applied after it.
+    public void onUpsert(Long noteId, Long discordUserId, String title) {
+        indexesByUser.asMap().computeIfPresent(discordUserId, (key, index) -> index.thenApply(built -> {
+            built.put(noteId, title);
+            return built;
+        }));
+    }
+
+    public void onDelete(Long noteId, Long discordUserId) {
+        indexesByUser.asMap().computeIfPresent(discordUserId, (key, index) -> index.thenApply(built -> {
+            built.remove(noteId);
+            return built;
+        }));
+    }
+
+    // True while an index is built or being built for the user; writes for anyone else have nothing to update.
+    public boolean isIndexed(Long discordUserId) {
+        return indexesByUser.asMap().containsKey(discordUserId);
+    }
+
+    public void clear() {
+        indexesByUser.synchronous().invalidateAll();
+    }
+
+    private UserTitleIndex build(Long discordUserId) {
+        List<NoteSuggestion> titles = noteRepository.findTitlesByDiscordUserId(discordUserId);
+        UserTitleIndex index = new UserTitleIndex(titles.size());
+
+        for (NoteSuggestion title : titles) {
+            index.put(title.id(), title.title());
+        }
+
+        return index;
+    }
+}
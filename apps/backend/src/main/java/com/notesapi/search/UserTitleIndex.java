@@ -0,0 +1,326 @@
+package com.notesapi.search;
+
+import com.notesapi.dto.NoteSuggestion;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram index over one user's note titles. Titles live in slot arrays and each trigram maps to
+ * the list of slots containing it; queries shorter than a trigram fall back to scanning the slots.
+ */
+public final class UserTitleIndex {
+    private static final int GRAM = 3;
+    private static final int LONG_TITLE = 128;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntHashMap slotsByNoteId;
+    private final LongIntHashMap postingsByGram;
+    private final IntList freeSlots = new IntList();
+
+    private long[] noteIds;
+    private String[] titles;
+    private String[] normalizedTitles;
+    private int[] lengths;
+    private char[] leadingChars;
+    private IntList[] postings = new IntList[64];
+    private final IntList[] slotsByLength = new IntList[LONG_TITLE + 1];
+    private int slotCount;
+    private int postingCount;
+
+    public UserTitleIndex(int expectedSize) {
+        int capacity = Math.max(8, expectedSize);
+
+        slotsByNoteId = new LongIntHashMap(capacity);
+        postingsByGram = new LongIntHashMap(capacity * 4);
+        noteIds = new long[capacity];
+        titles = new String[capacity];
+        normalizedTitles = new String[capacity];
+        lengths = new int[capacity];
+        leadingChars = new char[capacity];
+    }
+
+    public void put(long noteId, String title) {
+        lock.writeLock().lock();
+
+        try {
+            removeSlot(slotsByNoteId.remove(noteId));
+
+            if (title == null || title.isBlank()) {
+                return;
+            }
+
+            int slot = allocateSlot();
+            String normalized = normalize(title);
+
+            noteIds[slot] = noteId;
+            titles[slot] = title;
+            normalizedTitles[slot] = normalized;
+            lengths[slot] = normalized.length();
+            leadingChars[slot] = normalized.isEmpty() ? 0 : normalized.charAt(0);
+            slotsByNoteId.put(noteId, slot);
+            lengthBucket(normalized).add(slot);
+
+            forEachGram(normalized, gram -> postingFor(gram).add(slot));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long noteId) {
+        lock.writeLock().lock();
+
+        try {
+            removeSlot(slotsByNoteId.remove(noteId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<NoteSuggestion> search(String query, int limit) {
+        String normalized = normalize(query).strip();
+
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            // Max-heap on ranking order, capped at limit, so the worst kept match is evicted first.
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Match.ORDER.reversed());
+
+            IntList candidates = normalized.length() < GRAM ? null : rarestPosting(normalized);
+
+            if (normalized.length() >= GRAM && candidates == null) {
+                return List.of();
+            }
+
+            // Broad queries match most titles; walking them shortest first lets the scan stop early.
+            if (candidates == null || candidates.size() > slotsByNoteId.size() / 2) {
+                scanByLength(normalized, best, limit);
+            } else {
+                for (int i = 0; i < candidates.size(); i++) {
+                    collect(candidates.get(i), normalized, best, limit);
+                }
+            }
+
+            NoteSuggestion[] suggestions = new NoteSuggestion[best.size()];
+
+            for (int i = suggestions.length - 1; i >= 0; i--) {
+                int slot = best.poll().slot();
+
+                suggestions[i] = new NoteSuggestion(noteIds[slot], titles[slot]);
+            }
+
+            return List.of(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scanByLength(String query, PriorityQueue<Match> best, int limit) {
+        for (int length = query.length(); length <= LONG_TITLE; length++) {
+            IntList bucket = slotsByLength[length];
+
+            if (bucket == null) {
+                continue;
+            }
+
+            // Ranking is tier then length, so once only prefix matches are kept no longer title can enter.
+            Match worst = best.size() < limit ? null : best.peek();
+
+            if (worst != null && worst.tier() == 0 && length > worst.length()) {
+                return;
+            }
+
+            for (int i = 0; i < bucket.size(); i++) {
+                collect(bucket.get(i), query, best, limit);
+            }
+        }
+    }
+
+    private void collect(int slot, String query, PriorityQueue<Match> best, int limit) {
+        int length = lengths[slot];
+
+        if (length < query.length()) {
+            return;
+        }
+
+        Match worst = best.size() < limit ? null : best.peek();
+
+        if (worst != null && worst.tier() == 0 && length > worst.length()) {
+            return;
+        }
+
+        // When only a prefix match could still make the cut, the leading char rejects most titles without loading them.
+        boolean prefixOnly = worst != null && (worst.tier() == 0 || (worst.tier() == 1 && length > worst.length()));
+
+        if (prefixOnly && leadingChars[slot] != query.charAt(0)) {
+            return;
+        }
+
+        String title = normalizedTitles[slot];
+        int tier;
+
+        if (title.startsWith(query)) {
+            tier = 0;
+        } else {
+            if (prefixOnly) {
+                return;
+            }
+
+            int position = title.indexOf(query, 1);
+
+            if (position < 0) {
+                return;
+            }
+
+            tier = Character.isLetterOrDigit(title.charAt(position - 1)) ? 2 : 1;
+        }
+
+        Match match = new Match(slot, tier, length, noteIds[slot]);
+
+        if (worst == null) {
+            best.add(match);
+        } else if (Match.ORDER.compare(match, worst) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    // Every candidate must contain all of the query's trigrams, so the shortest posting list bounds the scan.
+    private IntList rarestPosting(String query) {
+        IntList rarest = null;
+
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            int index = postingsByGram.get(gramAt(query, i));
+
+            if (index == LongIntHashMap.MISSING) {
+                return null;
+            }
+
+            if (rarest == null || postings[index].size() < rarest.size()) {
+                rarest = postings[index];
+            }
+        }
+
+        return rarest;
+    }
+
+    private int allocateSlot() {
+        if (freeSlots.size() > 0) {
+            return freeSlots.removeLast();
+        }
+
+        if (slotCount == noteIds.length) {
+            int capacity = slotCount * 2;
+
+            noteIds = Arrays.copyOf(noteIds, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            normalizedTitles = Arrays.copyOf(normalizedTitles, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            leadingChars = Arrays.copyOf(leadingChars, capacity);
+        }
+
+        return slotCount++;
+    }
+
+    private void removeSlot(int slot) {
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+
+        forEachGram(normalizedTitles[slot], gram -> {
+            int index = postingsByGram.get(gram);
+
+            if (index != LongIntHashMap.MISSING) {
+                postings[index].removeValue(slot);
+            }
+        });
+
+        lengthBucket(normalizedTitles[slot]).removeValue(slot);
+        titles[slot] = null;
+        normalizedTitles[slot] = null;
+        lengths[slot] = 0;
+        freeSlots.add(slot);
+    }
+
+    private IntList lengthBucket(String normalized) {
+        int length = Math.min(normalized.length(), LONG_TITLE);
+
+        if (slotsByLength[length] == null) {
+            slotsByLength[length] = new IntList();
+        }
+
+        return slotsByLength[length];
+    }
+
+    private IntList postingFor(long gram) {
+        int index = postingsByGram.get(gram);
+
+        if (index != LongIntHashMap.MISSING) {
+            return postings[index];
+        }
+
+        if (postingCount == postings.length) {
+            postings = Arrays.copyOf(postings, postingCount * 2);
+        }
+
+        IntList posting = new IntList();
+
+        postings[postingCount] = posting;
+        postingsByGram.put(gram, postingCount++);
+
+        return posting;
+    }
+
+    private static void forEachGram(String text, GramConsumer consumer) {
+        if (text.length() < GRAM) {
+            return;
+        }
+
+        long[] grams = new long[text.length() - GRAM + 1];
+
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gramAt(text, i);
+        }
+
+        // Sorting lets repeated trigrams collapse so each slot appears at most once per posting list.
+        Arrays.sort(grams);
+
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                consumer.accept(grams[i]);
+            }
+        }
+    }
+
+    private static long gramAt(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface GramConsumer {
+        void accept(long gram);
+    }
+
+    private record Match(int slot, int tier, int length, long noteId) {
+        static final Comparator<Match> ORDER = Comparator.comparingInt(Match::tier)
+            .thenComparingInt(Match::length)
+            .thenComparing(Comparator.comparingLong(Match::noteId).reversed());
+    }
+}
@@ -0,0 +1,28 @@
+package com.notesapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Checks the shared secret the Discord bot sends as X-Bot-Token. The bot acts for whichever Discord user ran a
+ * command, so a matching token stands in for that user's JWT on the endpoints the bot calls.
+ */
+@Component
+public class BotTokenVerifier {
+    private final byte[] botToken;
+
+    public BotTokenVerifier(@Value("${notes.reminders.bot-token:}") String botToken) {
+        this.botToken = botToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean matches(String token) {
+        if (botToken.length == 0 || token == null) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(botToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,8 +5,17 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.notesapi.discord.DiscordHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,16 +24,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class DiscordAuthFilter extends OncePerRequestFilter {
@@ -38,11 +47,39 @@ public class DiscordAuthFilter extends OncePerRequestFilter {
         "/favicon.ico"
     );
 
-    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
-
-    private static final long CACHE_TTL_SECONDS = 60;
-
-    private final RestTemplate rest = new RestTemplate();
+    private static final String VALIDATION_TIMER = "notes.discord.token.validation";
+
+    private final AsyncCache<String, DiscordUserInfo> cache;
+    private final MeterRegistry meterRegistry;
+    private final DiscordHttpClient discordClient;
+
+    public DiscordAuthFilter(
+        MeterRegistry meterRegistry,
+        DiscordHttpClient discordClient,
+        @Value("${notes.discord-auth.cache.max-size:10000}") long maxSize,
+        @Value("${notes.discord-auth.cache.ttl-seconds:60}") long ttlSeconds,
+        @Value("${notes.discord-auth.cache.failure-ttl-seconds:10}") long failureTtlSeconds,
+        @Value("${notes.discord-auth.cache.error-ttl-seconds:2}") long errorTtlSeconds
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.discordClient = discordClient;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration failureTtl = Duration.ofSeconds(failureTtlSeconds);
+        Duration errorTtl = Duration.ofSeconds(errorTtlSeconds);
+
+        // Rejected tokens are cached too, for a shorter time, so a client retrying a bad token cannot hammer Discord.
+        // Discord being unreachable says nothing about the token, so that is only remembered for a moment.
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(Expiry.writing((String token, DiscordUserInfo info) ->
+                info.isValid() ? ttl : info == DiscordUserInfo.UNAVAILABLE ? errorTtl : failureTtl))
+            .scheduler(Scheduler.systemScheduler())
+            .recordStats()
+            .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "discord.tokens");
+    }
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
@@ -107,53 +144,74 @@ public class DiscordAuthFilter extends OncePerRequestFilter {
         return null;
     }
 
+    // Concurrent requests with the same token wait on a single Discord call instead of each making their own.
+    // The call runs on the first caller's thread outside the cache's lock, so it never pins a virtual thread.
     private DiscordUserInfo validateTokenAndGetUser(String token) {
-        CacheEntry cached = cache.get(token);
-
-        if (cached != null && !cached.isExpired()) {
-            return new DiscordUserInfo(cached.discordUserId);
+        CompletableFuture<DiscordUserInfo> pending = new CompletableFuture<>();
+        CompletableFuture<DiscordUserInfo> info = cache.get(token, (key, executor) -> pending);
+
+        if (info == pending) {
+            try {
+                pending.complete(fetchUser(token));
+            } catch (Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
         }
 
+        DiscordUserInfo user = info.join();
+
+        return user.isValid() ? user : null;
+    }
+
+    private DiscordUserInfo fetchUser(String token) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(token);
 
         HttpEntity<Void> entity = new HttpEntity<>(headers);
+        long start = System.nanoTime();
+        String outcome = "error";
 
         try {
-            ResponseEntity<Map> res = rest.exchange(
-                "https://discord.com/api/users/@me",
-                HttpMethod.GET,
-                entity,
-                Map.class
-            );
+            ResponseEntity<Map> res = discordClient.exchange("users.me", HttpMethod.GET, "/users/@me", entity, Map.class);
 
             if (!res.getStatusCode().is2xxSuccessful() || res.getBody() == null) {
                 log.debug("Discord user info call returned non-2xx or empty body: {}", res.getStatusCode());
-                return null;
+                outcome = "rejected";
+                return DiscordUserInfo.INVALID;
             }
 
             Object idObj = res.getBody().get("id");
 
             if (idObj == null) {
                 log.debug("Discord user info missing 'id' field");
-                return null;
+                outcome = "rejected";
+                return DiscordUserInfo.INVALID;
             }
 
             String idStr = String.valueOf(idObj).trim();
-            Long idLong = parseLongSafely(idStr);
+            outcome = "valid";
 
-            cache.put(token, new CacheEntry(idStr, Instant.now().plusSeconds(CACHE_TTL_SECONDS)));
+            return new DiscordUserInfo(idStr, parseLongSafely(idStr));
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            // Being rate limited says nothing about the token, so it must not be cached as rejected.
+            log.debug("Discord rate limited token validation: {}", e.getMessage());
 
-            return new DiscordUserInfo(idStr, idLong);
+            return DiscordUserInfo.UNAVAILABLE;
         } catch (HttpClientErrorException e) {
             log.debug("Discord token validation failed with status {}: {}", e.getStatusCode(), e.getMessage());
-            cache.remove(token);
+            outcome = "rejected";
 
-            return null;
+            return DiscordUserInfo.INVALID;
         } catch (Exception e) {
             log.debug("Unexpected error validating Discord token: {}", e.getMessage());
 
-            return null;
+            return DiscordUserInfo.UNAVAILABLE;
+        } finally {
+            Timer.builder(VALIDATION_TIMER)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -166,22 +224,11 @@ public class DiscordAuthFilter extends OncePerRequestFilter {
     }
 
     private record DiscordUserInfo(String id, Long numericId) {
-        DiscordUserInfo(String id) {
-            this(id, null);
-        }
-    }
-
-    private static final class CacheEntry {
-        private final String discordUserId;
-        private final Instant expiresAt;
-
-        CacheEntry(String discordUserId, Instant expiresAt) {
-            this.discordUserId = discordUserId;
-            this.expiresAt = expiresAt;
-        }
+        static final DiscordUserInfo INVALID = new DiscordUserInfo(null, null);
+        static final DiscordUserInfo UNAVAILABLE = new DiscordUserInfo(null, null);
 
-        boolean isExpired() {
-            return Instant.now().isAfter(expiresAt);
+        boolean isValid() {
+            return id != null;
         }
     }
 }
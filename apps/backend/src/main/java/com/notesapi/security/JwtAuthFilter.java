@@ -7,12 +7,10 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.lang.NonNull;
@@ -24,7 +22,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
@@ -41,8 +38,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         "/favicon.ico"
     );
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtService jwtService;
+
+    public JwtAuthFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
@@ -71,7 +71,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 String bearer = resolveBearerToken(request);
 
                 if (bearer != null && isLikelyJwt(bearer)) {
-                    String subject = validateAndGetSubject(bearer);
+                    VerifiedToken verified = jwtService.verify(bearer);
+                    String subject = verified.subject();
 
                     if (subject != null && !subject.isBlank()) {
                         Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
@@ -81,10 +82,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                        Long numericId = parseLongSafely(subject);
-
-                        if (numericId != null) {
-                            request.setAttribute("discordUserId", numericId);
+                        if (verified.discordUserId() != null) {
+                            request.setAttribute("discordUserId", verified.discordUserId());
                         }
                     }
                 }
@@ -123,22 +122,4 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         return dotCount == 2;
     }
-
-    private String validateAndGetSubject(String token) {
-        var parser = Jwts.parserBuilder()
-            .setSigningKey(secret.getBytes(StandardCharsets.UTF_8))
-            .build();
-
-        var claimsJws = parser.parseClaimsJws(token);
-
-        return claimsJws.getBody().getSubject();
-    }
-
-    private Long parseLongSafely(String value) {
-        try {
-            return Long.parseLong(value);
-        } catch (NumberFormatException ignored) {
-            return null;
-        }
-    }
 }
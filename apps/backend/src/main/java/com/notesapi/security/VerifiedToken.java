@@ -0,0 +1,4 @@
+package com.notesapi.security;
+
+public record VerifiedToken(String subject, Long discordUserId, long expiresAtMillis) {
+}
@@ -1,87 +1,374 @@
 package com.notesapi.services;
 
+import com.notesapi.cache.NoteCache;
+import com.notesapi.dto.NoteBatchOperation;
+import com.notesapi.dto.NoteBatchResult;
+import com.notesapi.dto.NoteCursor;
+import com.notesapi.dto.NotePage;
+import com.notesapi.dto.NoteSearchHit;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.dto.NoteSummary;
+import com.notesapi.dto.SearchCursor;
 import com.notesapi.models.Note;
+import com.notesapi.models.NoteEventType;
+import com.notesapi.models.OutboxEvent;
 import com.notesapi.repositories.NoteRepository;
-import com.notesapi.websocket.NotesWebSocketHandler;
+import com.notesapi.reminders.ReminderScheduler;
+import com.notesapi.repositories.OutboxEventRepository;
+import com.notesapi.search.TitleSuggestIndex;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Comparator;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class NoteService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PREVIEW_LENGTH = 160;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 25;
+
     private final NoteRepository noteRepository;
-    private final NotesWebSocketHandler notesWebSocketHandler;
+    private final OutboxEventRepository outboxEventRepository;
+    private final NoteCache noteCache;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final ReminderScheduler reminderScheduler;
 
-    public NoteService(NoteRepository noteRepository, NotesWebSocketHandler notesWebSocketHandler) {
+    public NoteService(
+        NoteRepository noteRepository,
+        OutboxEventRepository outboxEventRepository,
+        NoteCache noteCache,
+        TitleSuggestIndex titleSuggestIndex,
+        ReminderScheduler reminderScheduler
+    ) {
         this.noteRepository = noteRepository;
-        this.notesWebSocketHandler = notesWebSocketHandler;
+        this.outboxEventRepository = outboxEventRepository;
+        this.noteCache = noteCache;
+        this.titleSuggestIndex = titleSuggestIndex;
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    public NotePage<Note> getUserNotes(Long discordUserId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        return noteCache.getPage(discordUserId, cursor, pageSize, () -> loadUserNotes(discordUserId, cursor, pageSize));
+    }
+
+    private NotePage<Note> loadUserNotes(Long discordUserId, String cursor, int pageSize) {
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<Note> notes;
+
+        if (cursor == null || cursor.isBlank()) {
+            notes = noteRepository.findFirstPage(discordUserId, fetchLimit);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+
+            notes = noteRepository.findPageAfter(discordUserId, after.createdAt(), after.id(), fetchLimit);
+        }
+
+        return toPage(notes, pageSize, note -> new NoteCursor(note.getCreatedAt(), note.getId()));
+    }
+
+    public NotePage<NoteSummary> getUserNoteSummaries(Long discordUserId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<NoteSummary> summaries;
+
+        if (cursor == null || cursor.isBlank()) {
+            summaries = noteRepository.findFirstSummaryPage(discordUserId, PREVIEW_LENGTH, fetchLimit);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+
+            summaries = noteRepository.findSummaryPageAfter(
+                discordUserId, after.createdAt(), after.id(), PREVIEW_LENGTH, fetchLimit
+            );
+        }
+
+        return toPage(summaries, pageSize, summary -> new NoteCursor(summary.createdAt(), summary.id()));
+    }
+
+    public NotePage<NoteSearchHit> searchNotes(Long discordUserId, String query, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        List<NoteSearchHit> hits = noteRepository.search(
+            discordUserId,
+            query,
+            after != null ? after.rank() : null,
+            after != null ? after.id() : null,
+            pageSize + 1
+        );
+
+        if (hits.size() <= pageSize) {
+            return new NotePage<>(hits, null);
+        }
+
+        List<NoteSearchHit> items = hits.subList(0, pageSize);
+        NoteSearchHit last = items.get(items.size() - 1);
+
+        return new NotePage<>(items, new SearchCursor(last.getRank(), last.getId()).encode());
+    }
+
+    public List<NoteSuggestion> suggestNotes(Long discordUserId, String query, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS);
+
+        return titleSuggestIndex.suggest(discordUserId, query, size);
+    }
+
+    private <T> NotePage<T> toPage(List<T> rows, int pageSize, Function<T, NoteCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new NotePage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, pageSize);
+
+        return new NotePage<>(items, cursorOf.apply(items.get(items.size() - 1)).encode());
     }
 
-    public List<Note> getUserNotes(Long discordUserId) {
-        return noteRepository.findByDiscordUserId(discordUserId)
-            .stream()
-            .sorted(Comparator.comparing(Note::getCreatedAt).reversed())
-            .collect(Collectors.toList());
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
     public Optional<Note> getNoteById(Long id) {
-        return noteRepository.findById(id);
+        return noteCache.getNote(id, noteRepository::findWithBodyById);
     }
 
+    @Transactional
     public Note createNote(Note note) {
         Note saved = noteRepository.save(note);
 
-        notesWebSocketHandler.broadcast(saved);
+        evictOnCompletion(saved.getId(), saved.getDiscordUserId());
+        syncAfterCommit(saved, false);
+        outboxEventRepository.save(new OutboxEvent(NoteEventType.UPSERTED, saved));
 
         return saved;
     }
 
-    public Note updateNote(Long id, Note updatedNote) {
-        return noteRepository.findById(id)
-            .map(note -> {
-                note.setTitle(updatedNote.getTitle());
-                note.setContent(updatedNote.getContent());
+    @Transactional
+    public Optional<Note> updateNote(Long id, Long discordUserId, Long expectedVersion, Note updatedNote) {
+        Optional<Note> updated = noteRepository.updateOwned(
+            id,
+            discordUserId,
+            expectedVersion,
+            updatedNote.getTitle(),
+            updatedNote.getContent(),
+            updatedNote.getVisibility(),
+            updatedNote.getAlertAt(),
+            new Date()
+        );
 
-                if (updatedNote.getVisibility() != null) {
-                    note.setVisibility(updatedNote.getVisibility());
-                }
+        updated.ifPresent(note -> {
+            evictOnCompletion(note.getId(), note.getDiscordUserId());
+            syncAfterCommit(note, false);
+            outboxEventRepository.save(new OutboxEvent(NoteEventType.UPSERTED, note));
+        });
+
+        return updated;
+    }
+
+    @Transactional
+    public boolean deleteNote(Long id, Long discordUserId, Long expectedVersion) {
+        Optional<Note> deleted = noteRepository.deleteOwned(id, discordUserId, expectedVersion);
+
+        deleted.ifPresent(note -> {
+            evictOnCompletion(note.getId(), note.getDiscordUserId());
+            syncAfterCommit(note, true);
+            outboxEventRepository.save(new OutboxEvent(NoteEventType.DELETED, note));
+        });
+
+        return deleted.isPresent();
+    }
+
+    @Transactional
+    public List<NoteBatchResult> applyBatch(Long discordUserId, List<NoteBatchOperation> operations) {
+        Set<Long> targetIds = new HashSet<>();
+
+        for (NoteBatchOperation operation : operations) {
+            if (operation.id() != null) {
+                targetIds.add(operation.id());
+            }
+        }
+
+        Map<Long, Note> targets = new HashMap<>();
 
-                if (updatedNote.getAlertAt() != null) {
-                    note.setAlertAt(updatedNote.getAlertAt());
+        if (!targetIds.isEmpty()) {
+            for (Note note : noteRepository.findAllWithBodyByIdIn(targetIds)) {
+                targets.put(note.getId(), note);
+            }
+        }
+
+        List<NoteBatchResult> results = new ArrayList<>(operations.size());
+        List<Note> upserted = new ArrayList<>();
+        List<Note> deleted = new ArrayList<>();
+
+        for (int index = 0; index < operations.size(); index++) {
+            NoteBatchOperation operation = operations.get(index);
+            String op = operation.op() == null ? "" : operation.op();
+
+            if ("create".equals(op)) {
+                if (operation.note() == null) {
+                    results.add(NoteBatchResult.failure(index, op, 400, null, "Missing note"));
+                    continue;
                 }
 
-                notesWebSocketHandler.broadcast(note);
+                operation.note().setDiscordUserId(discordUserId);
+
+                Note note = noteRepository.save(operation.note());
+
+                upserted.add(note);
+                results.add(NoteBatchResult.success(index, op, 201, note));
+                continue;
+            }
+
+            if (!"update".equals(op) && !"delete".equals(op)) {
+                results.add(NoteBatchResult.failure(index, op, 400, operation.id(), "Unknown op"));
+                continue;
+            }
+
+            Note target = operation.id() != null ? targets.get(operation.id()) : null;
+
+            if (target == null) {
+                results.add(NoteBatchResult.failure(index, op, 404, operation.id(), "Note not found"));
+                continue;
+            }
+
+            if (!discordUserId.equals(target.getDiscordUserId())) {
+                results.add(NoteBatchResult.failure(index, op, 403, operation.id(), "Forbidden"));
+                continue;
+            }
+
+            if ("delete".equals(op)) {
+                noteRepository.delete(target);
+                targets.remove(target.getId());
+                upserted.remove(target);
+                deleted.add(target);
+                results.add(NoteBatchResult.deleted(index, target.getId()));
+                continue;
+            }
+
+            if (operation.note() == null) {
+                results.add(NoteBatchResult.failure(index, op, 400, operation.id(), "Missing note"));
+                continue;
+            }
+
+            applyChanges(target, operation.note());
+
+            if (!upserted.contains(target)) {
+                upserted.add(target);
+            }
+
+            results.add(NoteBatchResult.success(index, op, 200, target));
+        }
+
+        // Flush first so the outbox rows carry the versions the batched UPDATEs just wrote.
+        noteRepository.flush();
+
+        List<OutboxEvent> events = new ArrayList<>(upserted.size() + deleted.size());
+
+        for (Note note : upserted) {
+            events.add(new OutboxEvent(NoteEventType.UPSERTED, note));
+            syncAfterCommit(note, false);
+        }
+
+        for (Note note : deleted) {
+            events.add(new OutboxEvent(NoteEventType.DELETED, note));
+            syncAfterCommit(note, true);
+        }
 
-                return noteRepository.save(note);
-            })
-            .orElseThrow(() -> new RuntimeException("Note not found"));
+        outboxEventRepository.saveAll(events);
+
+        for (OutboxEvent event : events) {
+            evictOnCompletion(event.getNoteId(), event.getDiscordUserId());
+        }
+
+        return results;
     }
 
     @Transactional
-    public void deleteNote(Long id) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    public int importNotes(Long discordUserId, List<Note> notes) {
+        List<Long> ids = noteRepository.insertAll(discordUserId, notes);
+        List<Note> imported = noteRepository.findAllById(ids);
+        List<OutboxEvent> events = new ArrayList<>(imported.size());
 
-        if (auth == null || auth.getPrincipal() == null) {
-            throw new RuntimeException("Unauthorized");
+        for (Note note : imported) {
+            events.add(new OutboxEvent(NoteEventType.UPSERTED, note));
+            syncAfterCommit(note, false);
         }
 
-        String principal = String.valueOf(auth.getPrincipal());
-        Long discordUserId;
+        outboxEventRepository.saveAll(events);
+        evictOnCompletion(null, discordUserId);
+
+        return imported.size();
+    }
+
+    private void applyChanges(Note note, Note changes) {
+        note.setTitle(changes.getTitle());
+        note.setContent(changes.getContent());
+
+        if (changes.getVisibility() != null) {
+            note.setVisibility(changes.getVisibility());
+        }
 
-        try {
-            discordUserId = Long.parseLong(principal);
-        } catch (NumberFormatException e) {
-            throw new RuntimeException("Unauthorized");
+        if (changes.getAlertAt() != null) {
+            note.setAlertAt(changes.getAlertAt());
+            note.setAlertSentAt(null);
         }
+    }
+
+    public Optional<Long> findNoteOwner(Long id) {
+        return noteRepository.findOwnerById(id);
+    }
 
-        noteRepository.deleteByIdAndDiscordUserId(id, discordUserId);
+    private void evictOnCompletion(Long noteId, Long discordUserId) {
+        noteCache.evict(noteId, discordUserId);
+
+        // Evict again once the transaction ends, in case a concurrent read cached pre-commit state meanwhile.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                noteCache.evict(noteId, discordUserId);
+            }
+        });
+    }
+
+    private void syncAfterCommit(Note note, boolean deleted) {
+        Long noteId = note.getId();
+        Long discordUserId = note.getDiscordUserId();
+        String title = note.getTitle();
+        Date alertAt = note.getAlertAt();
+        Date alertSentAt = note.getAlertSentAt();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (deleted) {
+                    titleSuggestIndex.onDelete(noteId, discordUserId);
+                    reminderScheduler.cancel(noteId);
+                } else {
+                    titleSuggestIndex.onUpsert(noteId, discordUserId, title);
+                    reminderScheduler.reschedule(noteId, alertAt, alertSentAt);
+                }
+            }
+        });
     }
 }
@@ -0,0 +1,183 @@
+package com.notesapi.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.notesapi.dto.NoteImportError;
+import com.notesapi.dto.NoteImportProgress;
+import com.notesapi.models.Note;
+import com.notesapi.repositories.NoteRepository;
+
+import jakarta.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves a user's notes in and out as NDJSON, one note per line, without ever holding more than one
+ * import batch in memory. Exports use the same JSON as the REST API, so an export imports as is.
+ */
+@Service
+public class NoteTransferService {
+    private static final Logger log = LoggerFactory.getLogger(NoteTransferService.class);
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final String DEFAULT_VISIBILITY = "private";
+
+    private final NoteRepository noteRepository;
+    private final NoteService noteService;
+    private final EntityManager entityManager;
+    private final ObjectWriter noteWriter;
+    private final ObjectReader noteReader;
+    private final int importBatchSize;
+
+    public NoteTransferService(
+        NoteRepository noteRepository,
+        NoteService noteService,
+        EntityManager entityManager,
+        ObjectMapper objectMapper,
+        @Value("${notes.import.batch-size:500}") int importBatchSize
+    ) {
+        this.noteRepository = noteRepository;
+        this.noteService = noteService;
+        this.entityManager = entityManager;
+        this.noteWriter = objectMapper.writerFor(Note.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.noteReader = objectMapper.readerFor(Note.class);
+        this.importBatchSize = importBatchSize;
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(NoteImportProgress progress) throws IOException;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportNotes(Long discordUserId, OutputStream out) throws IOException {
+        long count = 0;
+
+        try (Stream<Note> notes = noteRepository.streamByDiscordUserId(discordUserId);
+             JsonGenerator generator = noteWriter.createGenerator(out)) {
+            // Lines are ended by hand below; the default separator would also put a space in front of every later note.
+            generator.setRootValueSeparator(null);
+
+            for (Note note : (Iterable<Note>) notes::iterator) {
+                noteWriter.writeValue(generator, note);
+                generator.writeRaw('\n');
+
+                // Written notes are not needed again, so the persistence context stays as small as one row.
+                entityManager.detach(note);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    // Each batch commits on its own, so a failure part way keeps what came before and the progress says how far it got.
+    public NoteImportProgress importNotes(Long discordUserId, InputStream in, ProgressListener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Note> batch = new ArrayList<>(importBatchSize);
+        List<NoteImportError> errors = new ArrayList<>();
+        long lines = 0;
+        long imported = 0;
+        long failed = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lines++;
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            String error;
+
+            try {
+                Note note = noteReader.readValue(line);
+
+                error = prepare(note);
+
+                if (error == null) {
+                    batch.add(note);
+                }
+            } catch (JsonProcessingException e) {
+                error = "Invalid JSON: " + e.getOriginalMessage();
+            }
+
+            if (error != null) {
+                failed++;
+
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new NoteImportError(lines, error));
+                }
+            }
+
+            if (batch.size() >= importBatchSize) {
+                imported += importBatch(discordUserId, batch);
+                listener.onProgress(new NoteImportProgress(lines, imported, failed, null, false));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            imported += importBatch(discordUserId, batch);
+        }
+
+        log.debug("Imported {} notes for user {} ({} lines failed)", imported, discordUserId, failed);
+
+        return new NoteImportProgress(lines, imported, failed, errors, true);
+    }
+
+    private int importBatch(Long discordUserId, List<Note> batch) {
+        int imported = noteService.importNotes(discordUserId, batch);
+
+        batch.clear();
+
+        // With open-in-view the request's persistence context outlives each batch's transaction; drop what it loaded.
+        entityManager.clear();
+
+        return imported;
+    }
+
+    private String prepare(Note note) {
+        if (note.getTitle() == null || note.getTitle().isBlank()) {
+            return "Missing title";
+        }
+
+        if (note.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "Title longer than " + MAX_TITLE_LENGTH + " characters";
+        }
+
+        if (note.getServerId() == null || note.getChannelId() == null) {
+            return "Missing serverId or channelId";
+        }
+
+        if (note.getVisibility() == null) {
+            note.setVisibility(DEFAULT_VISIBILITY);
+        }
+
+        // An alert already in the past counts as delivered, or importing an old export would fire all of them at once.
+        if (note.getAlertAt() != null && !note.getAlertAt().after(new Date())) {
+            note.setAlertSentAt(note.getAlertAt());
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.notesapi.services;
+
+import com.notesapi.models.ReminderDelivery;
+import com.notesapi.repositories.ReminderDeliveryRepository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class ReminderService {
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    private final ReminderDeliveryRepository reminderDeliveryRepository;
+
+    public ReminderService(ReminderDeliveryRepository reminderDeliveryRepository) {
+        this.reminderDeliveryRepository = reminderDeliveryRepository;
+    }
+
+    public List<ReminderDelivery> getPendingDeliveries(Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        return reminderDeliveryRepository.findAllByOrderByIdAsc(Limit.of(size));
+    }
+
+    @Transactional
+    public boolean acknowledgeDelivery(Long id) {
+        if (!reminderDeliveryRepository.existsById(id)) {
+            return false;
+        }
+
+        reminderDeliveryRepository.deleteById(id);
+
+        return true;
+    }
+}
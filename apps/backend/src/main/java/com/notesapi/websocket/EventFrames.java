@@ -0,0 +1,155 @@
+package com.notesapi.websocket;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns events into frames. Each event is encoded at most once per wire format, however many sessions
+ * receive it, and a notes.batch frame is assembled by splicing the encoded events into an envelope instead
+ * of encoding them again. JSON events are kept as Strings because text frames are sent as Strings.
+ *
+ * <p>Splicing binary events is safe because they are encoded on their own, with no Smile header and no
+ * back-references to names seen earlier in the document, which CBOR does not have at all.
+ */
+final class EventFrames {
+    private final ObjectMapper jsonMapper;
+    private final Map<WireFormat, ObjectMapper> eventMappers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, JsonFactory> envelopeFactories = new EnumMap<>(WireFormat.class);
+
+    EventFrames(ObjectMapper objectMapper) {
+        this.jsonMapper = objectMapper;
+
+        eventMappers.put(WireFormat.SMILE, objectMapper.copyWith(SmileFactory.builder()
+            .disable(SmileGenerator.Feature.WRITE_HEADER)
+            .disable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .build()));
+        envelopeFactories.put(WireFormat.SMILE, SmileFactory.builder()
+            .disable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .build());
+
+        eventMappers.put(WireFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        envelopeFactories.put(WireFormat.CBOR, new CBORFactory());
+    }
+
+    Event event(Long noteId, Object payload) {
+        return new Event(noteId, payload);
+    }
+
+    WebSocketMessage<?> frame(WireFormat format, List<Event> events) {
+        if (format == WireFormat.JSON) {
+            return new TextMessage(jsonFrame(events));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonGenerator envelope = envelopeFactories.get(format).createGenerator(out)) {
+            if (events.size() == 1) {
+                // Flushes the Smile header, if any, ahead of the event.
+                envelope.flush();
+                out.write(events.get(0).binary(format));
+                return new BinaryMessage(out.toByteArray());
+            }
+
+            envelope.writeStartObject();
+            envelope.writeStringField("type", "notes.batch");
+            envelope.writeFieldName("events");
+            envelope.writeStartArray();
+            envelope.flush();
+
+            for (Event event : events) {
+                out.write(event.binary(format));
+            }
+
+            envelope.writeEndArray();
+            envelope.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new BinaryMessage(out.toByteArray());
+    }
+
+    private String jsonFrame(List<Event> events) {
+        if (events.size() == 1) {
+            return events.get(0).json();
+        }
+
+        StringBuilder batch = new StringBuilder("{\"type\":\"notes.batch\",\"events\":[");
+
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+
+            batch.append(events.get(i).json());
+        }
+
+        return batch.append("]}").toString();
+    }
+
+    // Encodings are filled in lazily by the one thread building a delivery's frames.
+    final class Event {
+        private final Long noteId;
+        private final Object payload;
+        private String json;
+        private byte[] smile;
+        private byte[] cbor;
+
+        private Event(Long noteId, Object payload) {
+            this.noteId = noteId;
+            this.payload = payload;
+        }
+
+        Long noteId() {
+            return noteId;
+        }
+
+        private String json() {
+            if (json == null) {
+                try {
+                    json = jsonMapper.writeValueAsString(payload);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            return json;
+        }
+
+        private byte[] binary(WireFormat format) {
+            byte[] encoded = format == WireFormat.SMILE ? smile : cbor;
+
+            if (encoded != null) {
+                return encoded;
+            }
+
+            try {
+                encoded = eventMappers.get(format).writeValueAsBytes(payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (format == WireFormat.SMILE) {
+                smile = encoded;
+            } else {
+                cbor = encoded;
+            }
+
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.notesapi.websocket;
+
+import com.notesapi.security.JwtService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+@Component
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(JwtHandshakeInterceptor.class);
+
+    public static final String DISCORD_USER_ID_ATTRIBUTE = "discordUserId";
+
+    private final JwtService jwtService;
+
+    public JwtHandshakeInterceptor(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public boolean beforeHandshake(
+        @NonNull ServerHttpRequest request,
+        @NonNull ServerHttpResponse response,
+        @NonNull WebSocketHandler wsHandler,
+        @NonNull Map<String, Object> attributes
+    ) {
+        String token = resolveToken(request);
+        Long discordUserId = null;
+
+        if (token != null) {
+            try {
+                discordUserId = jwtService.verify(token).discordUserId();
+            } catch (Exception e) {
+                log.debug("WebSocket handshake rejected: {}", e.getMessage());
+            }
+        }
+
+        if (discordUserId == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+
+            return false;
+        }
+
+        attributes.put(DISCORD_USER_ID_ATTRIBUTE, discordUserId);
+
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(
+        @NonNull ServerHttpRequest request,
+        @NonNull ServerHttpResponse response,
+        @NonNull WebSocketHandler wsHandler,
+        Exception exception
+    ) {
+    }
+
+    private String resolveToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith("Bearer ")) {
+            String token = header.substring(7).trim();
+
+            return token.isEmpty() ? null : token;
+        }
+
+        // Browsers cannot set headers on a WebSocket upgrade, so the web client sends the token as a query parameter.
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+
+        return token == null || token.isBlank() ? null : token;
+    }
+}
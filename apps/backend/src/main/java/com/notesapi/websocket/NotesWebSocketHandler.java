@@ -1,49 +1,151 @@
 package com.notesapi.websocket;
 
+import com.notesapi.events.NoteChangeEvent;
 import com.notesapi.models.Note;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class NotesWebSocketHandler extends TextWebSocketHandler {
-    private final Set<WebSocketSession> sessions = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final WebSocketSessionRegistry registry;
+    private final WebSocketDispatcher dispatcher;
+    private final ObjectMapper mapper;
+    private final EventFrames frames;
+    private final DistributionSummary fanoutSize;
+    private final DistributionSummary framesPerDelivery;
+
+    public NotesWebSocketHandler(
+        WebSocketSessionRegistry registry,
+        WebSocketDispatcher dispatcher,
+        MeterRegistry meterRegistry,
+        ObjectMapper mapper
+    ) {
+        this.registry = registry;
+        this.dispatcher = dispatcher;
+        this.mapper = mapper;
+        this.frames = new EventFrames(mapper);
+
+        Gauge.builder("notes.websocket.sessions", registry, WebSocketSessionRegistry::sessionCount)
+            .register(meterRegistry);
+
+        // Sessions each event reaches, and frames each delivery of events from the bus turns into.
+        this.fanoutSize = DistributionSummary.builder("notes.websocket.fanout")
+            .baseUnit("sessions")
+            .register(meterRegistry);
+        this.framesPerDelivery = DistributionSummary.builder("notes.websocket.delivery.frames")
+            .baseUnit("frames")
+            .register(meterRegistry);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
-        sessions.add(session);
+        dispatcher.open(session);
+        registry.register(session);
     }
 
     @Override
-    public void afterConnectionClosed(WebSocketSession session, org.springframework.web.socket.CloseStatus status) {
-        sessions.remove(session);
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        registry.unregister(session);
+        dispatcher.close(session);
     }
 
-    public void broadcast(Note note) {
-        String json;
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        JsonNode command = mapper.readTree(message.getPayload());
+        String action = command.path("action").asText();
+        JsonNode channelId = command.path("channelId");
 
-        try {
-            json = mapper.writeValueAsString(note);
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (!channelId.canConvertToLong()) {
             return;
         }
 
-        sessions.forEach(session -> {
-            if (session.isOpen()) {
-                try {
-                    session.sendMessage(new TextMessage(json));
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+        switch (action) {
+            case "subscribe" -> registry.subscribeChannel(session, channelId.asLong());
+            case "unsubscribe" -> registry.unsubscribeChannel(session, channelId.asLong());
+            default -> {
             }
+        }
+    }
+
+    public boolean hasSessionsFor(NoteChangeEvent event) {
+        return registry.hasSessionsFor(event.discordUserId(), event.channelId(), event.visibility());
+    }
+
+    public void broadcast(Note note) {
+        broadcastAll(List.of(note), List.of(), List.of());
+    }
+
+    public void broadcastDeleted(NoteChangeEvent event) {
+        broadcastAll(List.of(), List.of(event), List.of());
+    }
+
+    public void broadcastAll(List<Note> upserted, List<NoteChangeEvent> deleted, List<Note> alerted) {
+        Map<WebSocketSession, List<EventFrames.Event>> pendingBySession = new HashMap<>();
+
+        for (Note note : upserted) {
+            collect(pendingBySession, registry.sessionsFor(note), note.getId(),
+                Map.of("type", "note.upserted", "note", note));
+        }
+
+        for (NoteChangeEvent event : deleted) {
+            collect(pendingBySession, registry.sessionsFor(event.discordUserId(), event.channelId(), event.visibility()),
+                event.noteId(), Map.of("type", "note.deleted", "noteId", event.noteId()));
+        }
+
+        // Reminders go to the owner only, and without a key so a later upsert frame can never coalesce them away.
+        for (Note note : alerted) {
+            collect(pendingBySession, registry.sessionsFor(note.getDiscordUserId(), note.getChannelId(), "private"),
+                null, Map.of("type", "note.alert", "note", note));
+        }
+
+        framesPerDelivery.record(pendingBySession.size());
+
+        // Sessions touched by several events from the same delivery get one notes.batch frame instead of one frame each.
+        pendingBySession.forEach((session, events) -> {
+            WebSocketMessage<?> frame;
+
+            try {
+                frame = frames.frame(WireFormat.of(session), events);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return;
+            }
+
+            dispatcher.enqueue(session, events.size() == 1 ? events.get(0).noteId() : null, frame);
         });
     }
+
+    private void collect(
+        Map<WebSocketSession, List<EventFrames.Event>> pendingBySession,
+        List<WebSocketSession> targets,
+        Long noteId,
+        Object payload
+    ) {
+        fanoutSize.record(targets.size());
+
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        // Encoded on first use, once per wire format among the targets.
+        EventFrames.Event event = frames.event(noteId, payload);
+
+        for (WebSocketSession session : targets) {
+            pendingBySession.computeIfAbsent(session, key -> new ArrayList<>()).add(event);
+        }
+    }
 }
@@ -0,0 +1,7 @@
+package com.notesapi.websocket;
+
+public enum OverflowPolicy {
+    DROP_OLDEST,
+    COALESCE,
+    CLOSE
+}
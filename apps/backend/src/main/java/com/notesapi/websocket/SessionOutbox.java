@@ -0,0 +1,122 @@
+package com.notesapi.websocket;
+
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+class SessionOutbox {
+    enum OfferResult {
+        QUEUED,
+        COALESCED,
+        DROPPED_OLDEST,
+        REJECTED
+    }
+
+    record Entry(Long key, WebSocketMessage<?> message, long enqueuedAtNanos) {
+    }
+
+    private final WebSocketSession session;
+    private final int capacity;
+    private final ArrayDeque<Entry> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    SessionOutbox(WebSocketSession session, int capacity) {
+        this.session = session;
+        this.capacity = capacity;
+        this.queue = new ArrayDeque<>(Math.min(capacity, 16));
+    }
+
+    WebSocketSession session() {
+        return session;
+    }
+
+    OfferResult offer(Entry entry, OverflowPolicy policy) {
+        lock.lock();
+
+        try {
+            if (queue.size() < capacity) {
+                queue.addLast(entry);
+
+                return OfferResult.QUEUED;
+            }
+
+            if (policy == OverflowPolicy.CLOSE) {
+                return OfferResult.REJECTED;
+            }
+
+            if (policy == OverflowPolicy.COALESCE && entry.key() != null && replace(entry)) {
+                return OfferResult.COALESCED;
+            }
+
+            queue.pollFirst();
+            queue.addLast(entry);
+
+            return OfferResult.DROPPED_OLDEST;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Entry poll() {
+        lock.lock();
+
+        try {
+            return queue.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int clear() {
+        lock.lock();
+
+        try {
+            int dropped = queue.size();
+
+            queue.clear();
+
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+
+        try {
+            return queue.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean tryStartDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+
+    private boolean replace(Entry entry) {
+        Iterator<Entry> it = queue.descendingIterator();
+
+        while (it.hasNext()) {
+            if (Objects.equals(it.next().key(), entry.key())) {
+                it.remove();
+                queue.addLast(entry);
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
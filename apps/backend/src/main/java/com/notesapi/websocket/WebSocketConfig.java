@@ -4,6 +4,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 
 @Configuration
@@ -12,8 +13,18 @@ public class WebSocketConfig implements WebSocketConfigurer {
     @Autowired
     private NotesWebSocketHandler notesWebSocketHandler;
 
+    @Autowired
+    private JwtHandshakeInterceptor jwtHandshakeInterceptor;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(notesWebSocketHandler, "/ws").setAllowedOriginPatterns("*");
+        DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
+
+        handshakeHandler.setSupportedProtocols(WireFormat.subprotocols());
+
+        registry.addHandler(notesWebSocketHandler, "/ws")
+            .setHandshakeHandler(handshakeHandler)
+            .addInterceptors(jwtHandshakeInterceptor)
+            .setAllowedOriginPatterns("*");
     }
 }
@@ -0,0 +1,191 @@
+package com.notesapi.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class WebSocketDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(WebSocketDispatcher.class);
+
+    private static final String OUTBOX_ATTRIBUTE = "outbox";
+    private static final String TOMCAT_SEND_TIMEOUT_PROPERTY = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final Executor executor;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long sendTimeoutMillis;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Counter droppedOldest;
+    private final Counter coalesced;
+    private final Counter closedSlowConsumers;
+    private final Counter sendFailures;
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+
+    public WebSocketDispatcher(
+        MeterRegistry meterRegistry,
+        Environment environment,
+        @Value("${notes.websocket.dispatcher-threads:4}") int dispatcherThreads,
+        @Value("${notes.websocket.queue-capacity:256}") int queueCapacity,
+        @Value("${notes.websocket.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+        @Value("${notes.websocket.send-timeout-ms:5000}") long sendTimeoutMillis
+    ) {
+        // With virtual threads each draining session gets its own thread, so a slow consumer blocked in a send
+        // no longer holds one of a handful of shared dispatcher threads.
+        this.executor = Threading.VIRTUAL.isActive(environment)
+            ? new VirtualThreadTaskExecutor("ws-dispatch-")
+            : Executors.newFixedThreadPool(dispatcherThreads, new CustomizableThreadFactory("ws-dispatch-"));
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+
+        meterRegistry.gauge("notes.websocket.queue.depth", queueDepth);
+
+        this.droppedOldest = droppedCounter(meterRegistry, "drop_oldest");
+        this.coalesced = droppedCounter(meterRegistry, "coalesce");
+        this.closedSlowConsumers = droppedCounter(meterRegistry, "close");
+        this.sendFailures = Counter.builder("notes.websocket.send.failures").register(meterRegistry);
+
+        // send is the socket write alone; delivery runs from enqueue to written, so it includes time queued behind it.
+        this.sendTimer = Timer.builder("notes.websocket.send").register(meterRegistry);
+        this.deliveryTimer = Timer.builder("notes.websocket.delivery").register(meterRegistry);
+    }
+
+    public void open(WebSocketSession session) {
+        session.getAttributes().put(OUTBOX_ATTRIBUTE, new SessionOutbox(session, queueCapacity));
+
+        try {
+            if (session instanceof NativeWebSocketSession nativeSession) {
+                Session standardSession = nativeSession.getNativeSession(Session.class);
+
+                if (standardSession != null) {
+                    standardSession.getUserProperties().put(TOMCAT_SEND_TIMEOUT_PROPERTY, sendTimeoutMillis);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Could not set send timeout on WebSocket session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    public void close(WebSocketSession session) {
+        SessionOutbox outbox = (SessionOutbox) session.getAttributes().remove(OUTBOX_ATTRIBUTE);
+
+        if (outbox != null) {
+            queueDepth.addAndGet(-outbox.clear());
+        }
+    }
+
+    public void enqueue(WebSocketSession session, Long key, WebSocketMessage<?> message) {
+        SessionOutbox outbox = (SessionOutbox) session.getAttributes().get(OUTBOX_ATTRIBUTE);
+
+        if (outbox == null || !session.isOpen()) {
+            return;
+        }
+
+        switch (outbox.offer(new SessionOutbox.Entry(key, message, System.nanoTime()), overflowPolicy)) {
+            case QUEUED -> queueDepth.incrementAndGet();
+            case COALESCED -> coalesced.increment();
+            case DROPPED_OLDEST -> droppedOldest.increment();
+            case REJECTED -> {
+                closedSlowConsumers.increment();
+                closeQuietly(session, CloseStatus.SESSION_NOT_RELIABLE);
+                close(session);
+
+                return;
+            }
+        }
+
+        if (outbox.tryStartDraining()) {
+            executor.execute(() -> drain(outbox));
+        }
+    }
+
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    private void drain(SessionOutbox outbox) {
+        WebSocketSession session = outbox.session();
+
+        while (true) {
+            SessionOutbox.Entry entry = outbox.poll();
+
+            if (entry == null) {
+                outbox.stopDraining();
+
+                // A producer may have queued an entry after the last poll but before draining was released.
+                if (outbox.isEmpty() || !outbox.tryStartDraining()) {
+                    return;
+                }
+
+                continue;
+            }
+
+            queueDepth.decrementAndGet();
+
+            if (!session.isOpen()) {
+                continue;
+            }
+
+            try {
+                long start = System.nanoTime();
+
+                session.sendMessage(entry.message());
+
+                long end = System.nanoTime();
+
+                sendTimer.record(end - start, TimeUnit.NANOSECONDS);
+                deliveryTimer.record(end - entry.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                sendFailures.increment();
+                log.debug("Failed to send to WebSocket session {}: {}", session.getId(), e.getMessage());
+                closeQuietly(session, CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        }
+    }
+
+    private void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (Exception e) {
+            log.debug("Failed to close WebSocket session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String policy) {
+        return Counter.builder("notes.websocket.dropped")
+            .tag("policy", policy)
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.notesapi.websocket;
+
+import com.notesapi.models.Note;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class WebSocketSessionRegistry {
+    private static final String CHANNELS_ATTRIBUTE = "subscribedChannels";
+    private static final String PUBLIC_VISIBILITY = "public";
+
+    private final ConcurrentHashMap<Long, Set<WebSocketSession>> sessionsByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<WebSocketSession>> sessionsByChannel = new ConcurrentHashMap<>();
+
+    public void register(WebSocketSession session) {
+        Long discordUserId = discordUserIdOf(session);
+
+        if (discordUserId == null) {
+            return;
+        }
+
+        session.getAttributes().put(CHANNELS_ATTRIBUTE, ConcurrentHashMap.newKeySet());
+        add(sessionsByUser, discordUserId, session);
+    }
+
+    public void unregister(WebSocketSession session) {
+        Long discordUserId = discordUserIdOf(session);
+
+        if (discordUserId != null) {
+            remove(sessionsByUser, discordUserId, session);
+        }
+
+        for (Long channelId : channelsOf(session)) {
+            remove(sessionsByChannel, channelId, session);
+        }
+    }
+
+    public void subscribeChannel(WebSocketSession session, Long channelId) {
+        if (channelsOf(session).add(channelId)) {
+            add(sessionsByChannel, channelId, session);
+        }
+    }
+
+    public void unsubscribeChannel(WebSocketSession session, Long channelId) {
+        if (channelsOf(session).remove(channelId)) {
+            remove(sessionsByChannel, channelId, session);
+        }
+    }
+
+    public List<WebSocketSession> sessionsFor(Note note) {
+        return sessionsFor(note.getDiscordUserId(), note.getChannelId(), note.getVisibility());
+    }
+
+    public List<WebSocketSession> sessionsFor(Long ownerId, Long channelId, String visibility) {
+        Set<WebSocketSession> owners = sessionsByUser.getOrDefault(ownerId, Set.of());
+        Set<WebSocketSession> subscribers = PUBLIC_VISIBILITY.equals(visibility) && channelId != null
+            ? sessionsByChannel.getOrDefault(channelId, Set.of())
+            : Set.of();
+
+        List<WebSocketSession> targets = new ArrayList<>(owners.size() + subscribers.size());
+
+        targets.addAll(owners);
+
+        for (WebSocketSession subscriber : subscribers) {
+            if (!ownerId.equals(discordUserIdOf(subscriber))) {
+                targets.add(subscriber);
+            }
+        }
+
+        return targets;
+    }
+
+    public boolean hasSessionsFor(Long ownerId, Long channelId, String visibility) {
+        return sessionsByUser.containsKey(ownerId)
+            || (PUBLIC_VISIBILITY.equals(visibility) && channelId != null && sessionsByChannel.containsKey(channelId));
+    }
+
+    public int sessionCount() {
+        int count = 0;
+
+        for (Set<WebSocketSession> sessions : sessionsByUser.values()) {
+            count += sessions.size();
+        }
+
+        return count;
+    }
+
+    public static Long discordUserIdOf(WebSocketSession session) {
+        return (Long) session.getAttributes().get(JwtHandshakeInterceptor.DISCORD_USER_ID_ATTRIBUTE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> channelsOf(WebSocketSession session) {
+        Set<Long> channels = (Set<Long>) session.getAttributes().get(CHANNELS_ATTRIBUTE);
+
+        return channels != null ? channels : Collections.emptySet();
+    }
+
+    private void add(Map<Long, Set<WebSocketSession>> index, Long key, WebSocketSession session) {
+        index.compute(key, (k, sessions) -> {
+            Set<WebSocketSession> target = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+
+            target.add(session);
+
+            return target;
+        });
+    }
+
+    private void remove(Map<Long, Set<WebSocketSession>> index, Long key, WebSocketSession session) {
+        index.computeIfPresent(key, (k, sessions) -> {
+            sessions.remove(session);
+
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+}
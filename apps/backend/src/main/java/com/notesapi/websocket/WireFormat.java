@@ -0,0 +1,47 @@
+package com.notesapi.websocket;
+
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Encoding of the event frames a session receives, chosen with the Sec-WebSocket-Protocol header at the
+ * handshake. Clients that ask for no subprotocol get JSON text frames; "notes.smile" and "notes.cbor" get
+ * binary frames with the same structure. Commands from the client are JSON text in every case.
+ */
+public enum WireFormat {
+    JSON("notes.json"),
+    SMILE("notes.smile"),
+    CBOR("notes.cbor");
+
+    private final String subprotocol;
+
+    WireFormat(String subprotocol) {
+        this.subprotocol = subprotocol;
+    }
+
+    public String subprotocol() {
+        return subprotocol;
+    }
+
+    public static String[] subprotocols() {
+        WireFormat[] formats = values();
+        String[] subprotocols = new String[formats.length];
+
+        for (int i = 0; i < formats.length; i++) {
+            subprotocols[i] = formats[i].subprotocol;
+        }
+
+        return subprotocols;
+    }
+
+    public static WireFormat of(WebSocketSession session) {
+        String accepted = session.getAcceptedProtocol();
+
+        for (WireFormat format : values()) {
+            if (format.subprotocol.equals(accepted)) {
+                return format;
+            }
+        }
+
+        return JSON;
+    }
+}
@@ -0,0 +1,4 @@
+-- notes.content stays until the contract step in db/contract/ runs, because nodes on the previous release still read
+-- and write it. Note no longer maps it, so on a fresh database Hibernate does not create it; this adds it before
+-- 001 and 003 refer to it, so fresh and upgraded databases have the same schema during the rollout.
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS content TEXT;
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_notes_pending_alert ON notes (alert_at) WHERE alert_at IS NOT NULL AND alert_sent_at IS NULL;
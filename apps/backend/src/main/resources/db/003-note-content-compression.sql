@@ -0,0 +1,5 @@
+-- Postgres already compresses large note bodies at rest (TOAST): a value over ~2 kB is stored compressed with a flag
+-- naming its codec, and is only decompressed when the column is read; substring() inflates just the prefix it needs.
+-- Compressing in the application instead would hide the text from search_vector, ts_headline and the preview query.
+-- lz4 costs far less CPU than the default pglz at a similar ratio; servers built without it keep pglz.
+DO 'BEGIN ALTER TABLE notes ALTER COLUMN content SET COMPRESSION lz4; EXCEPTION WHEN feature_not_supported THEN NULL; END';
@@ -0,0 +1,79 @@
+-- Note content lives in note_bodies, one row per note, so scans of notes never pull bodies through shared buffers.
+-- Hibernate may insert a body before its note within a transaction, hence the deferred foreign key.
+DO 'BEGIN
+    ALTER TABLE note_bodies ADD CONSTRAINT fk_note_bodies_note FOREIGN KEY (note_id) REFERENCES notes (id)
+        ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END';
+
+-- Expand step of moving content out of notes. Until db/contract/ drops notes.content in a later release, nodes on
+-- the previous release read and write notes.content while current nodes use note_bodies, so writes from either side
+-- are mirrored to the other. pg_trigger_depth() stops a mirrored write from being mirrored back.
+
+-- Previous release writes notes.content: copy it into note_bodies.
+CREATE OR REPLACE FUNCTION notes_mirror_content() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF pg_trigger_depth() = 1 AND NEW.content IS NOT NULL THEN
+        INSERT INTO note_bodies (note_id, content) VALUES (NEW.id, NEW.content)
+        ON CONFLICT (note_id) DO UPDATE SET content = EXCLUDED.content;
+    END IF;
+
+    RETURN NULL;
+END';
+
+-- Current release inserts a note without content, possibly after its body: fill it from the body.
+CREATE OR REPLACE FUNCTION notes_fill_content() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF NEW.content IS NULL THEN
+        SELECT b.content INTO NEW.content FROM note_bodies b WHERE b.note_id = NEW.id;
+    END IF;
+
+    RETURN NEW;
+END';
+
+-- Current release writes note_bodies: copy it into notes.content, if the note row exists yet.
+CREATE OR REPLACE FUNCTION note_bodies_mirror_content() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF pg_trigger_depth() = 1 THEN
+        UPDATE notes SET content = NEW.content WHERE id = NEW.note_id AND content IS DISTINCT FROM NEW.content;
+    END IF;
+
+    RETURN NULL;
+END';
+
+DROP TRIGGER IF EXISTS notes_mirror_content ON notes;
+CREATE TRIGGER notes_mirror_content AFTER INSERT OR UPDATE OF content ON notes
+    FOR EACH ROW EXECUTE FUNCTION notes_mirror_content();
+
+DROP TRIGGER IF EXISTS notes_fill_content ON notes;
+CREATE TRIGGER notes_fill_content BEFORE INSERT ON notes
+    FOR EACH ROW EXECUTE FUNCTION notes_fill_content();
+
+DROP TRIGGER IF EXISTS note_bodies_mirror_content ON note_bodies;
+CREATE TRIGGER note_bodies_mirror_content AFTER INSERT OR UPDATE OF content ON note_bodies
+    FOR EACH ROW EXECUTE FUNCTION note_bodies_mirror_content();
+
+-- Backfills bodies for notes written before the triggers existed, in batches of 1000 rows, each committed on its own
+-- so no lock is held for long. Rows that already have a body are skipped, so a rerun on every startup only scans.
+-- Needs autocommit, which is how the scripts are run.
+DO '
+DECLARE
+    last_id bigint := 0;
+    batch_last_id bigint;
+BEGIN
+    LOOP
+        WITH batch AS (
+            SELECT id, content FROM notes WHERE id > last_id ORDER BY id LIMIT 1000
+        ), copied AS (
+            INSERT INTO note_bodies (note_id, content)
+            SELECT id, content FROM batch
+            ON CONFLICT (note_id) DO NOTHING
+        )
+        SELECT max(id) INTO batch_last_id FROM batch;
+
+        EXIT WHEN batch_last_id IS NULL;
+
+        last_id := batch_last_id;
+        COMMIT;
+    END LOOP;
+END';
@@ -0,0 +1,13 @@
+-- Search over the split tables: a generated column cannot read another table, so the title and the content each get
+-- their own vector and GIN index. notes.search_vector stays for the previous release until db/contract/ drops it.
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS title_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(title, '')), 'A')) STORED;
+
+ALTER TABLE note_bodies ADD COLUMN IF NOT EXISTS content_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(content, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_notes_title_vector ON notes USING gin (title_vector);
+CREATE INDEX IF NOT EXISTS idx_note_bodies_content_vector ON note_bodies USING gin (content_vector);
+
+-- Same reasoning as 003, for the column bodies now live in.
+DO 'BEGIN ALTER TABLE note_bodies ALTER COLUMN content SET COMPRESSION lz4; EXCEPTION WHEN feature_not_supported THEN NULL; END';
@@ -0,0 +1,10 @@
+-- A reminder waiting for the bot goes with its note, so deleting a note also cancels a reminder already fired for it.
+DELETE FROM note_reminders r WHERE NOT EXISTS (SELECT 1 FROM notes n WHERE n.id = r.note_id);
+
+CREATE INDEX IF NOT EXISTS idx_note_reminders_note_id ON note_reminders (note_id);
+
+DO 'BEGIN
+    ALTER TABLE note_reminders ADD CONSTRAINT fk_note_reminders_note FOREIGN KEY (note_id) REFERENCES notes (id)
+        ON DELETE CASCADE;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END';
@@ -0,0 +1,13 @@
+-- Contract step of moving content out of notes. Not run automatically: ship it in the release after the one that
+-- added db/004, once no node on the old code is left, by moving it into db/ as the next numbered script. In that same
+-- release delete db/000 and empty db/001 and db/003, which refer to notes.content and would fail without it.
+DROP TRIGGER IF EXISTS notes_mirror_content ON notes;
+DROP TRIGGER IF EXISTS notes_fill_content ON notes;
+DROP TRIGGER IF EXISTS note_bodies_mirror_content ON note_bodies;
+
+DROP FUNCTION IF EXISTS notes_mirror_content();
+DROP FUNCTION IF EXISTS notes_fill_content();
+DROP FUNCTION IF EXISTS note_bodies_mirror_content();
+
+DROP INDEX IF EXISTS idx_notes_search_vector;
+ALTER TABLE notes DROP COLUMN IF EXISTS search_vector, DROP COLUMN IF EXISTS content;
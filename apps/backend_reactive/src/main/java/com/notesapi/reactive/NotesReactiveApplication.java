@@ -0,0 +1,16 @@
+package com.notesapi.reactive;
+
+import com.notesapi.security.BotTokenVerifier;
+import com.notesapi.security.JwtService;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import({JwtService.class, BotTokenVerifier.class})
+public class NotesReactiveApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(NotesReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,44 @@
+package com.notesapi.reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+@Configuration
+public class R2dbcConfig {
+
+    // The schema stores timestamp without time zone in the JVM's zone, which is how the JPA backend reads and
+    // writes the same columns, so both stacks see the same instants.
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions() {
+        return R2dbcCustomConversions.of(PostgresDialect.INSTANCE, List.of(
+            new LocalDateTimeToDate(),
+            new DateToLocalDateTime()
+        ));
+    }
+
+    @ReadingConverter
+    static class LocalDateTimeToDate implements Converter<LocalDateTime, Date> {
+        @Override
+        public Date convert(LocalDateTime source) {
+            return Date.from(source.atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    @WritingConverter
+    static class DateToLocalDateTime implements Converter<Date, LocalDateTime> {
+        @Override
+        public LocalDateTime convert(Date source) {
+            return LocalDateTime.ofInstant(source.toInstant(), ZoneId.systemDefault());
+        }
+    }
+}
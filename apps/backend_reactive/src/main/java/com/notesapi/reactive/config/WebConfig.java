@@ -0,0 +1,71 @@
+package com.notesapi.reactive.config;
+
+import com.notesapi.reactive.security.AuthAttributes;
+import com.notesapi.reactive.websocket.NotesWebSocketHandler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class WebConfig {
+    private static final List<String> ALLOWED_ORIGINS = List.of(
+        "http://localhost:5173",
+        "http://localhost:3000"
+    );
+
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration config = new CorsConfiguration();
+
+        config.setAllowedOrigins(ALLOWED_ORIGINS);
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag"));
+        config.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+
+        source.registerCorsConfiguration("/**", config);
+
+        return new CorsWebFilter(source);
+    }
+
+    @Bean
+    public HandlerMapping webSocketMapping(NotesWebSocketHandler notesWebSocketHandler) {
+        return new SimpleUrlHandlerMapping(Map.of("/ws", notesWebSocketHandler), Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    // Only JWT-authenticated upgrades are accepted, and the user id moves from the exchange onto the session.
+    @Bean
+    public WebSocketHandlerAdapter webSocketHandlerAdapter() {
+        HandshakeWebSocketService handshakeService = new HandshakeWebSocketService();
+
+        return new WebSocketHandlerAdapter((exchange, handler) -> {
+            Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+            if (discordUserId == null) {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+
+                return exchange.getResponse().setComplete();
+            }
+
+            return handshakeService.handleRequest(exchange, session -> {
+                session.getAttributes().put(AuthAttributes.DISCORD_USER_ID, discordUserId);
+
+                return handler.handle(session);
+            });
+        });
+    }
+}
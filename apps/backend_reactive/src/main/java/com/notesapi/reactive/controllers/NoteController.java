@@ -0,0 +1,262 @@
+package com.notesapi.reactive.controllers;
+
+import com.notesapi.controllers.NoteETags;
+import com.notesapi.dto.NotePage;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.dto.NoteSummary;
+import com.notesapi.reactive.dto.NoteBatchOperation;
+import com.notesapi.reactive.dto.NoteBatchResult;
+import com.notesapi.reactive.dto.SearchHit;
+import com.notesapi.reactive.models.Note;
+import com.notesapi.reactive.security.AuthAttributes;
+import com.notesapi.reactive.services.NoteService;
+import com.notesapi.security.BotTokenVerifier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/notes")
+public class NoteController {
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final NoteService noteService;
+    private final BotTokenVerifier botTokenVerifier;
+
+    public NoteController(NoteService noteService, BotTokenVerifier botTokenVerifier) {
+        this.noteService = noteService;
+        this.botTokenVerifier = botTokenVerifier;
+    }
+
+    @GetMapping("/user/{discordUserId}")
+    public Mono<ResponseEntity<NotePage<Note>>> getUserNotes(
+        @PathVariable Long discordUserId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        ServerWebExchange exchange
+    ) {
+        Long authDiscordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (authDiscordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        if (!authDiscordUserId.equals(discordUserId)) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.FORBIDDEN));
+        }
+
+        return noteService.getUserNotes(authDiscordUserId, cursor, limit)
+            .map(page -> conditionalResponse(
+                page, NoteETags.forPage(page.items(), Note::getId, Note::getVersion, page.nextCursor()), ifNoneMatch))
+            .onErrorReturn(IllegalArgumentException.class, new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+    }
+
+    // Every note of the user as NDJSON, oldest first like the servlet export, read from Postgres only as fast as the
+    // client consumes it.
+    @GetMapping(value = "/user/{discordUserId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Note>>> streamUserNotes(@PathVariable Long discordUserId, ServerWebExchange exchange) {
+        Long authDiscordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (authDiscordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        if (!authDiscordUserId.equals(discordUserId)) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.FORBIDDEN));
+        }
+
+        return Mono.just(new ResponseEntity<>(noteService.streamUserNotes(authDiscordUserId), HttpStatus.OK));
+    }
+
+    @GetMapping("/user/{discordUserId}/summaries")
+    public Mono<ResponseEntity<NotePage<NoteSummary>>> getUserNoteSummaries(
+        @PathVariable Long discordUserId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = "X-Bot-Token", required = false) String botToken,
+        ServerWebExchange exchange
+    ) {
+        Long authDiscordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        // The bot's /listar has no JWT for the user who ran it; Discord has already authenticated them.
+        if (authDiscordUserId == null && botTokenVerifier.matches(botToken)) {
+            authDiscordUserId = discordUserId;
+        }
+
+        if (authDiscordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        if (!authDiscordUserId.equals(discordUserId)) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.FORBIDDEN));
+        }
+
+        return noteService.getUserNoteSummaries(authDiscordUserId, cursor, limit)
+            .map(page -> new ResponseEntity<>(page, HttpStatus.OK))
+            .onErrorReturn(IllegalArgumentException.class, new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<NotePage<SearchHit>>> searchNotes(
+        @RequestParam("q") String query,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        ServerWebExchange exchange
+    ) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        if (query.isBlank()) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+
+        return noteService.searchNotes(discordUserId, query, cursor, limit)
+            .map(page -> new ResponseEntity<>(page, HttpStatus.OK))
+            .onErrorReturn(IllegalArgumentException.class, new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<List<NoteSuggestion>>> suggestNotes(
+        @RequestParam("q") String query,
+        @RequestParam(required = false) Integer limit,
+        ServerWebExchange exchange
+    ) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        return noteService.suggestNotes(discordUserId, query, limit)
+            .map(suggestions -> new ResponseEntity<>(suggestions, HttpStatus.OK));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Note>> getNoteById(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        ServerWebExchange exchange
+    ) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        return noteService.getNoteById(id)
+            .map(note -> discordUserId.equals(note.getDiscordUserId())
+                ? conditionalResponse(note, NoteETags.forNote(note.getVersion()), ifNoneMatch)
+                : new ResponseEntity<Note>(HttpStatus.FORBIDDEN))
+            .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Note>> createNote(@RequestBody Note note, ServerWebExchange exchange) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        return noteService.createNote(discordUserId, note)
+            .map(created -> new ResponseEntity<>(created, etagHeaders(created), HttpStatus.CREATED));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<NoteBatchResult>>> applyBatch(
+        @RequestBody List<NoteBatchOperation> operations,
+        ServerWebExchange exchange
+    ) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        if (operations.isEmpty() || operations.size() > MAX_BATCH_SIZE) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+
+        return noteService.applyBatch(discordUserId, operations)
+            .map(results -> new ResponseEntity<>(results, HttpStatus.OK));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Note>> updateNote(
+        @PathVariable Long id,
+        @RequestBody Note note,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        ServerWebExchange exchange
+    ) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        return noteService.updateNote(id, discordUserId, NoteETags.expectedVersion(ifMatch), note)
+            .map(updated -> new ResponseEntity<>(updated, etagHeaders(updated), HttpStatus.OK))
+            .switchIfEmpty(Mono.defer(() -> notUpdated(id, discordUserId)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteNote(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        ServerWebExchange exchange
+    ) {
+        Long discordUserId = exchange.getAttribute(AuthAttributes.DISCORD_USER_ID);
+
+        if (discordUserId == null) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+        }
+
+        return noteService.deleteNote(id, discordUserId, NoteETags.expectedVersion(ifMatch))
+            .flatMap(deleted -> deleted
+                ? Mono.just(new ResponseEntity<Void>(HttpStatus.NO_CONTENT))
+                : notUpdated(id, discordUserId));
+    }
+
+    // Ownership and the If-Match version are checked by the write itself, so a miss is explained after the fact.
+    private <T> Mono<ResponseEntity<T>> notUpdated(Long id, Long discordUserId) {
+        return noteService.findNoteOwner(id)
+            .map(ownerId -> new ResponseEntity<T>(
+                discordUserId.equals(ownerId) ? HttpStatus.PRECONDITION_FAILED : HttpStatus.FORBIDDEN))
+            .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // A matching If-None-Match gets a bare 304, so the body is never serialized.
+    private <T> ResponseEntity<T> conditionalResponse(T body, String etag, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setETag(etag);
+        headers.setCacheControl(NoteETags.REVALIDATE);
+
+        if (!NoteETags.noneMatch(ifNoneMatch, etag)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private HttpHeaders etagHeaders(Note note) {
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setETag(NoteETags.forNote(note.getVersion()));
+
+        return headers;
+    }
+}
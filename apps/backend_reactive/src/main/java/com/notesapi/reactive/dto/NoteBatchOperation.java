@@ -0,0 +1,6 @@
+package com.notesapi.reactive.dto;
+
+import com.notesapi.reactive.models.Note;
+
+public record NoteBatchOperation(String op, Long id, Note note) {
+}
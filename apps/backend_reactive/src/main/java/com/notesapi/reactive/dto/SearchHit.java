@@ -0,0 +1,14 @@
+package com.notesapi.reactive.dto;
+
+import java.util.Date;
+
+public record SearchHit(
+    Long id,
+    String title,
+    String snippet,
+    Date createdAt,
+    Date updatedAt,
+    String visibility,
+    Float rank
+) {
+}
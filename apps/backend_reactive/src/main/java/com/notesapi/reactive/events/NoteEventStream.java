@@ -0,0 +1,172 @@
+package com.notesapi.reactive.events;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapi.events.NoteChangeEvent;
+import com.notesapi.models.NoteEventType;
+import com.notesapi.reactive.models.Note;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Note changes from every node, servlet or reactive, read off the same Postgres channel the servlet
+ * backend's event bus uses. Writes here NOTIFY inside their own transaction, so an event is only
+ * delivered once its change has committed.
+ */
+@Component
+public class NoteEventStream implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(NoteEventStream.class);
+
+    private static final String CHANNEL = "note_events";
+    // NOTIFY payloads must stay under 8000 bytes; leave room for the array brackets and separators.
+    private static final int MAX_PAYLOAD_BYTES = 7500;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(2);
+
+    private final DatabaseClient databaseClient;
+    private final ConnectionFactory listenerConnectionFactory;
+    private final ObjectMapper mapper;
+    private final Sinks.Many<List<NoteChangeEvent>> sink = Sinks.many().multicast().directBestEffort();
+
+    private volatile Disposable listener;
+
+    public NoteEventStream(DatabaseClient databaseClient, R2dbcProperties properties, ObjectMapper mapper) {
+        this.databaseClient = databaseClient;
+        this.mapper = mapper;
+
+        // LISTEN needs a connection of its own for as long as the node runs, so it stays out of the pool.
+        this.listenerConnectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+            .username(properties.getUsername())
+            .password(properties.getPassword())
+            .build();
+    }
+
+    public Flux<List<NoteChangeEvent>> events() {
+        return sink.asFlux();
+    }
+
+    public Mono<Void> publish(NoteEventType type, Note note) {
+        return publish(List.of(event(type, note)));
+    }
+
+    // Must run inside the writing transaction; Postgres holds the notifications back until commit.
+    public Mono<Void> publish(List<NoteChangeEvent> events) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder("[");
+        int payloadBytes = 1;
+
+        for (NoteChangeEvent event : events) {
+            String json;
+
+            try {
+                json = mapper.writeValueAsString(event);
+            } catch (Exception e) {
+                return Mono.error(e);
+            }
+
+            int eventBytes = json.getBytes(StandardCharsets.UTF_8).length + 1;
+
+            if (payloadBytes > 1 && payloadBytes + eventBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.append(']').toString());
+                payload.setLength(1);
+                payloadBytes = 1;
+            }
+
+            if (payloadBytes > 1) {
+                payload.append(',');
+            }
+
+            payload.append(json);
+            payloadBytes += eventBytes;
+        }
+
+        if (payloadBytes > 1) {
+            payloads.add(payload.append(']').toString());
+        }
+
+        return Flux.fromIterable(payloads)
+            .concatMap(json -> databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", CHANNEL)
+                .bind("payload", json)
+                .then())
+            .then();
+    }
+
+    public static NoteChangeEvent event(NoteEventType type, Note note) {
+        return new NoteChangeEvent(
+            type,
+            note.getId(),
+            note.getDiscordUserId(),
+            note.getChannelId(),
+            note.getVisibility(),
+            note.getVersion()
+        );
+    }
+
+    @Override
+    public void start() {
+        listener = Flux.usingWhen(
+                Mono.from(listenerConnectionFactory.create()).cast(PostgresqlConnection.class),
+                connection -> connection.createStatement("LISTEN " + CHANNEL)
+                    .execute()
+                    .flatMap(PostgresqlResult::getRowsUpdated)
+                    .doOnComplete(() -> log.info("Listening for note events on Postgres channel '{}'", CHANNEL))
+                    .thenMany(connection.getNotifications()),
+                PostgresqlConnection::close
+            )
+            .concatMap(this::parse)
+            // The notification stream only ends when the connection does.
+            .concatWith(Mono.error(new IllegalStateException("Note event listener connection closed")))
+            .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, RECONNECT_DELAY)
+                .doBeforeRetry(signal -> log.warn("Note event listener lost its connection, reconnecting: {}",
+                    signal.failure().getMessage())))
+            .subscribe(sink::tryEmitNext);
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = listener;
+
+        if (current != null) {
+            current.dispose();
+            listener = null;
+        }
+
+        sink.tryEmitComplete();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener != null;
+    }
+
+    private Mono<List<NoteChangeEvent>> parse(Notification notification) {
+        try {
+            return Mono.just(mapper.readValue(notification.getParameter(), new TypeReference<List<NoteChangeEvent>>() {}));
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable note event payload: {}", e.getMessage());
+            return Mono.empty();
+        }
+    }
+}
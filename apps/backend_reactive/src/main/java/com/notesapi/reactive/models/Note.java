@@ -0,0 +1,138 @@
+package com.notesapi.reactive.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.Date;
+
+/**
+ * The servlet backend's notes row with its note_bodies content, mapped for R2DBC. Queries join the body
+ * in when they need it; the rest leave content null. Field order matches that entity's JSON property order
+ * so both stacks serialize notes identically.
+ */
+@Table("notes")
+public class Note {
+    @Id
+    private Long id;
+
+    private Long version;
+
+    private Date createdAt;
+
+    private Date updatedAt;
+
+    private String title;
+
+    private String content;
+
+    private Long serverId;
+
+    private Long channelId;
+
+    private Long discordUserId;
+
+    private String visibility;
+
+    private Date alertAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Date alertSentAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Date getAlertAt() {
+        return alertAt;
+    }
+
+    public Date getAlertSentAt() {
+        return alertSentAt;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Long getServerId() {
+        return serverId;
+    }
+
+    public Long getChannelId() {
+        return channelId;
+    }
+
+    public Long getDiscordUserId() {
+        return discordUserId;
+    }
+
+    public String getVisibility() {
+        return visibility;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public void setServerId(Long serverId) {
+        this.serverId = serverId;
+    }
+
+    public void setChannelId(Long channelId) {
+        this.channelId = channelId;
+    }
+
+    public void setDiscordUserId(Long discordUserId) {
+        this.discordUserId = discordUserId;
+    }
+
+    public void setVisibility(String visibility) {
+        this.visibility = visibility;
+    }
+
+    public void setAlertAt(Date alertAt) {
+        this.alertAt = alertAt;
+    }
+
+    public void setAlertSentAt(Date alertSentAt) {
+        this.alertSentAt = alertSentAt;
+    }
+}
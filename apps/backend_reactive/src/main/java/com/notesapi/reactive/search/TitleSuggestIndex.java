@@ -0,0 +1,75 @@
+package com.notesapi.reactive.search;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.reactive.repositories.NoteRepository;
+import com.notesapi.search.UserTitleIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+public class TitleSuggestIndex {
+    private final NoteRepository noteRepository;
+    private final AsyncCache<Long, UserTitleIndex> indexesByUser;
+
+    public TitleSuggestIndex(
+        NoteRepository noteRepository,
+        MeterRegistry meterRegistry,
+        @Value("${notes.suggest.max-users:1000}") long maxUsers,
+        @Value("${notes.suggest.rebuild-after-minutes:10}") long rebuildAfterMinutes
+    ) {
+        this.noteRepository = noteRepository;
+
+        // Writes from other nodes are not applied here, so indexes are rebuilt periodically to bound staleness.
+        this.indexesByUser = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterWrite(Duration.ofMinutes(rebuildAfterMinutes))
+            .recordStats()
+            .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexesByUser, "notes.title-index");
+    }
+
+    public Mono<List<NoteSuggestion>> suggest(Long discordUserId, String query, int limit) {
+        return Mono.fromFuture(indexesByUser.get(discordUserId, (key, executor) -> build(key).toFuture()))
+            .map(index -> index.search(query, limit));
+    }
+
+    // Writes are chained onto the index's future, so one committed while a build is in flight is applied after it.
+    public void onUpsert(Long noteId, Long discordUserId, String title) {
+        indexesByUser.asMap().computeIfPresent(discordUserId, (key, index) -> index.thenApply(built -> {
+            built.put(noteId, title);
+            return built;
+        }));
+    }
+
+    public void onDelete(Long noteId, Long discordUserId) {
+        indexesByUser.asMap().computeIfPresent(discordUserId, (key, index) -> index.thenApply(built -> {
+            built.remove(noteId);
+            return built;
+        }));
+    }
+
+    private Mono<UserTitleIndex> build(Long discordUserId) {
+        return noteRepository.findTitlesByDiscordUserId(discordUserId)
+            .collectList()
+            .map(titles -> {
+                UserTitleIndex index = new UserTitleIndex(titles.size());
+
+                for (NoteSuggestion title : titles) {
+                    index.put(title.id(), title.title());
+                }
+
+                return index;
+            });
+    }
+}
@@ -0,0 +1,9 @@
+package com.notesapi.reactive.security;
+
+public final class AuthAttributes {
+    // Exchange attribute, and WebSocket session attribute, holding the authenticated Discord user id.
+    public static final String DISCORD_USER_ID = "discordUserId";
+
+    private AuthAttributes() {
+    }
+}
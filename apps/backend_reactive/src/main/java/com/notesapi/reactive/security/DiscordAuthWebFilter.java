@@ -0,0 +1,266 @@
+package com.notesapi.reactive.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.notesapi.discord.CircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.channel.ChannelOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts a raw Discord OAuth token when no app JWT was presented, validating it against Discord's
+ * /users/@me. Results are cached, rejections more briefly, and concurrent requests with the same
+ * token share one call. Calls go through the servlet backend's policy: a circuit breaker that fails
+ * fast while Discord is down, and a retry on 429 when Discord asks for a short enough wait.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class DiscordAuthWebFilter implements WebFilter {
+    private static final Logger log = LoggerFactory.getLogger(DiscordAuthWebFilter.class);
+
+    private static final Set<String> EXCLUDED_PATH_PREFIXES = Set.of(
+        "/auth/",
+        "/ws",
+        "/actuator/",
+        "/error",
+        "/favicon.ico"
+    );
+
+    private static final String VALIDATION_TIMER = "notes.discord.token.validation";
+    private static final String ENDPOINT = "users.me";
+
+    private final AsyncCache<String, DiscordUserInfo> cache;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long maxRetryWaitMillis;
+
+    public DiscordAuthWebFilter(
+        MeterRegistry meterRegistry,
+        WebClient.Builder webClientBuilder,
+        @Value("${notes.discord.http.connect-timeout-ms:2000}") int connectTimeoutMillis,
+        @Value("${notes.discord.http.read-timeout-ms:3000}") long readTimeoutMillis,
+        @Value("${notes.discord.http.max-attempts:2}") int maxAttempts,
+        @Value("${notes.discord.http.max-retry-wait-ms:1000}") long maxRetryWaitMillis,
+        @Value("${notes.discord.http.circuit.failure-threshold:5}") int failureThreshold,
+        @Value("${notes.discord.http.circuit.open-ms:30000}") long openMillis,
+        @Value("${notes.discord-auth.cache.max-size:10000}") long maxSize,
+        @Value("${notes.discord-auth.cache.ttl-seconds:60}") long ttlSeconds,
+        @Value("${notes.discord-auth.cache.failure-ttl-seconds:10}") long failureTtlSeconds,
+        @Value("${notes.discord-auth.cache.error-ttl-seconds:2}") long errorTtlSeconds
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.maxAttempts = maxAttempts;
+        this.maxRetryWaitMillis = maxRetryWaitMillis;
+
+        HttpClient httpClient = HttpClient.create()
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+            .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        this.webClient = webClientBuilder
+            .baseUrl("https://discord.com/api")
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration failureTtl = Duration.ofSeconds(failureTtlSeconds);
+        Duration errorTtl = Duration.ofSeconds(errorTtlSeconds);
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(Expiry.writing((String token, DiscordUserInfo info) ->
+                info.isValid() ? ttl : info == DiscordUserInfo.UNAVAILABLE ? errorTtl : failureTtl))
+            .scheduler(Scheduler.systemScheduler())
+            .recordStats()
+            .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "discord.tokens");
+
+        Gauge.builder("notes.discord.http.circuit.open", circuitBreaker, breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+            .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String token = resolveBearerToken(request);
+
+        if (token == null
+            || exchange.getAttribute(AuthAttributes.DISCORD_USER_ID) != null
+            || HttpMethod.OPTIONS.equals(request.getMethod())
+            || isExcluded(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        return Mono.fromFuture(cache.get(token, (key, executor) -> fetchUser(key).toFuture()))
+            .doOnNext(info -> {
+                if (info.isValid() && info.numericId() != null) {
+                    exchange.getAttributes().put(AuthAttributes.DISCORD_USER_ID, info.numericId());
+                }
+            })
+            .then(chain.filter(exchange));
+    }
+
+    private Mono<DiscordUserInfo> fetchUser(String token) {
+        long start = System.nanoTime();
+
+        return requestUser(token, 1)
+            .doOnNext(info -> Timer.builder(VALIDATION_TIMER)
+                .tag("outcome", info.isValid() ? "valid" : info == DiscordUserInfo.UNAVAILABLE ? "error" : "rejected")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private Mono<DiscordUserInfo> requestUser(String token, int attempt) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                counter("notes.discord.http.rejected").increment();
+                return Mono.just(DiscordUserInfo.UNAVAILABLE);
+            }
+
+            return webClient.get()
+                .uri("/users/@me")
+                .headers(headers -> headers.setBearerAuth(token))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .map(body -> {
+                    Object idObj = body.get("id");
+
+                    if (idObj == null) {
+                        log.debug("Discord user info missing 'id' field");
+                        return DiscordUserInfo.INVALID;
+                    }
+
+                    String idStr = String.valueOf(idObj).trim();
+
+                    return new DiscordUserInfo(idStr, parseLongSafely(idStr));
+                })
+                .defaultIfEmpty(DiscordUserInfo.INVALID)
+                .doOnNext(info -> circuitBreaker.onSuccess())
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.debug("Discord token validation failed with status {}: {}", e.getStatusCode(), e.getMessage());
+
+                    if (!e.getStatusCode().is4xxClientError()) {
+                        circuitBreaker.onFailure();
+                        return Mono.just(DiscordUserInfo.UNAVAILABLE);
+                    }
+
+                    // Client errors mean Discord is up and answering, so they never trip the breaker.
+                    circuitBreaker.onSuccess();
+
+                    if (e.getStatusCode().value() != 429) {
+                        return Mono.just(DiscordUserInfo.INVALID);
+                    }
+
+                    long waitMillis = retryAfterMillis(e.getHeaders());
+
+                    // Being rate limited says nothing about the token, so it must not be cached as rejected.
+                    if (attempt >= maxAttempts || waitMillis > maxRetryWaitMillis) {
+                        return Mono.just(DiscordUserInfo.UNAVAILABLE);
+                    }
+
+                    counter("notes.discord.http.retries").increment();
+
+                    return Mono.delay(Duration.ofMillis(waitMillis)).then(requestUser(token, attempt + 1));
+                })
+                .onErrorResume(e -> {
+                    log.debug("Unexpected error validating Discord token: {}", e.getMessage());
+                    circuitBreaker.onFailure();
+                    return Mono.just(DiscordUserInfo.UNAVAILABLE);
+                });
+        });
+    }
+
+    private long retryAfterMillis(HttpHeaders headers) {
+        String retryAfter = headers.getFirst("Retry-After");
+
+        if (retryAfter == null) {
+            retryAfter = headers.getFirst("X-RateLimit-Reset-After");
+        }
+
+        try {
+            return retryAfter == null ? 0 : (long) Math.ceil(Double.parseDouble(retryAfter) * 1000);
+        } catch (NumberFormatException e) {
+            log.debug("Unparseable Discord rate-limit header: {}", retryAfter);
+            return 0;
+        }
+    }
+
+    private Counter counter(String name) {
+        return Counter.builder(name).tag("endpoint", ENDPOINT).register(meterRegistry);
+    }
+
+    private boolean isExcluded(String path) {
+        for (String prefix : EXCLUDED_PATH_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String resolveBearerToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+
+        String token = header.substring(7).trim();
+
+        return token.isEmpty() ? null : token;
+    }
+
+    private static Long parseLongSafely(String s) {
+        try {
+            return s == null ? null : Long.parseLong(s);
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    private record DiscordUserInfo(String id, Long numericId) {
+        static final DiscordUserInfo INVALID = new DiscordUserInfo(null, null);
+        static final DiscordUserInfo UNAVAILABLE = new DiscordUserInfo(null, null);
+
+        boolean isValid() {
+            return id != null;
+        }
+    }
+}
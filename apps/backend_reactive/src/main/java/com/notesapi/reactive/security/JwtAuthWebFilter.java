@@ -0,0 +1,95 @@
+package com.notesapi.reactive.security;
+
+import com.notesapi.security.JwtService;
+import com.notesapi.security.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the app's own JWT into the discordUserId exchange attribute. Verification is cached by
+ * JwtService, so this runs on the event loop without blocking it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class JwtAuthWebFilter implements WebFilter {
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthWebFilter.class);
+
+    private static final String WEBSOCKET_PATH = "/ws";
+
+    private final JwtService jwtService;
+
+    public JwtAuthWebFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (HttpMethod.OPTIONS.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        String token = resolveToken(request);
+
+        if (token != null && isLikelyJwt(token)) {
+            try {
+                VerifiedToken verified = jwtService.verify(token);
+
+                if (verified.discordUserId() != null) {
+                    exchange.getAttributes().put(AuthAttributes.DISCORD_USER_ID, verified.discordUserId());
+                }
+            } catch (JwtException e) {
+                log.debug("JWT invalid: {}", e.getMessage());
+            }
+        }
+
+        return chain.filter(exchange);
+    }
+
+    private String resolveToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith("Bearer ")) {
+            String token = header.substring(7).trim();
+
+            return token.isEmpty() ? null : token;
+        }
+
+        // Browsers cannot set headers on a WebSocket upgrade, so the web client sends the token as a query parameter.
+        if (WEBSOCKET_PATH.equals(request.getPath().value())) {
+            String token = request.getQueryParams().getFirst("token");
+
+            return token == null || token.isBlank() ? null : token;
+        }
+
+        return null;
+    }
+
+    private boolean isLikelyJwt(String token) {
+        int dotCount = 0;
+
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.') dotCount++;
+            if (dotCount > 2) break;
+        }
+
+        return dotCount == 2;
+    }
+}
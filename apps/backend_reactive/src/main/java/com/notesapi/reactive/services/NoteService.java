@@ -0,0 +1,305 @@
+package com.notesapi.reactive.services;
+
+import com.notesapi.dto.NoteCursor;
+import com.notesapi.dto.NotePage;
+import com.notesapi.dto.NoteSuggestion;
+import com.notesapi.dto.NoteSummary;
+import com.notesapi.dto.SearchCursor;
+import com.notesapi.events.NoteChangeEvent;
+import com.notesapi.models.NoteEventType;
+import com.notesapi.reactive.dto.NoteBatchOperation;
+import com.notesapi.reactive.dto.NoteBatchResult;
+import com.notesapi.reactive.dto.SearchHit;
+import com.notesapi.reactive.events.NoteEventStream;
+import com.notesapi.reactive.models.Note;
+import com.notesapi.reactive.repositories.NoteRepository;
+import com.notesapi.reactive.search.TitleSuggestIndex;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Same paging, search and batch semantics as the servlet backend's NoteService, over R2DBC. Each write
+ * publishes its note event inside its transaction; the title index is updated once that has committed.
+ */
+@Service
+public class NoteService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PREVIEW_LENGTH = 160;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 25;
+
+    private final NoteRepository noteRepository;
+    private final NoteEventStream noteEventStream;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final TransactionalOperator transactionalOperator;
+
+    public NoteService(
+        NoteRepository noteRepository,
+        NoteEventStream noteEventStream,
+        TitleSuggestIndex titleSuggestIndex,
+        TransactionalOperator transactionalOperator
+    ) {
+        this.noteRepository = noteRepository;
+        this.noteEventStream = noteEventStream;
+        this.titleSuggestIndex = titleSuggestIndex;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<NotePage<Note>> getUserNotes(Long discordUserId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        return Mono.defer(() -> {
+            Flux<Note> notes;
+
+            if (cursor == null || cursor.isBlank()) {
+                notes = noteRepository.findFirstPage(discordUserId, pageSize + 1);
+            } else {
+                NoteCursor after = NoteCursor.decode(cursor);
+
+                notes = noteRepository.findPageAfter(discordUserId, after.createdAt(), after.id(), pageSize + 1);
+            }
+
+            return notes.collectList()
+                .map(rows -> toPage(rows, pageSize, note -> new NoteCursor(note.getCreatedAt(), note.getId())));
+        });
+    }
+
+    public Flux<Note> streamUserNotes(Long discordUserId) {
+        return noteRepository.streamByDiscordUserId(discordUserId);
+    }
+
+    public Mono<NotePage<NoteSummary>> getUserNoteSummaries(Long discordUserId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        return Mono.defer(() -> {
+            Flux<NoteSummary> summaries;
+
+            if (cursor == null || cursor.isBlank()) {
+                summaries = noteRepository.findFirstSummaryPage(discordUserId, PREVIEW_LENGTH, pageSize + 1);
+            } else {
+                NoteCursor after = NoteCursor.decode(cursor);
+
+                summaries = noteRepository.findSummaryPageAfter(
+                    discordUserId, after.createdAt(), after.id(), PREVIEW_LENGTH, pageSize + 1
+                );
+            }
+
+            return summaries.collectList()
+                .map(rows -> toPage(rows, pageSize, summary -> new NoteCursor(summary.createdAt(), summary.id())));
+        });
+    }
+
+    public Mono<NotePage<SearchHit>> searchNotes(Long discordUserId, String query, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        return Mono.defer(() -> {
+            SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+            return noteRepository.search(
+                    discordUserId,
+                    query,
+                    after != null ? after.rank() : null,
+                    after != null ? after.id() : null,
+                    pageSize + 1
+                )
+                .collectList()
+                .map(hits -> {
+                    if (hits.size() <= pageSize) {
+                        return new NotePage<>(hits, null);
+                    }
+
+                    List<SearchHit> items = hits.subList(0, pageSize);
+                    SearchHit last = items.get(items.size() - 1);
+
+                    return new NotePage<>(items, new SearchCursor(last.rank(), last.id()).encode());
+                });
+        });
+    }
+
+    public Mono<List<NoteSuggestion>> suggestNotes(Long discordUserId, String query, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS);
+
+        return titleSuggestIndex.suggest(discordUserId, query, size);
+    }
+
+    private <T> NotePage<T> toPage(List<T> rows, int pageSize, Function<T, NoteCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new NotePage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, pageSize);
+
+        return new NotePage<>(items, cursorOf.apply(items.get(items.size() - 1)).encode());
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    public Mono<Note> getNoteById(Long id) {
+        return noteRepository.findWithBodyById(id);
+    }
+
+    public Mono<Note> createNote(Long discordUserId, Note note) {
+        return insert(discordUserId, note)
+            .flatMap(saved -> noteEventStream.publish(NoteEventType.UPSERTED, saved).thenReturn(saved))
+            .as(transactionalOperator::transactional)
+            .doOnNext(saved -> titleSuggestIndex.onUpsert(saved.getId(), saved.getDiscordUserId(), saved.getTitle()));
+    }
+
+    public Mono<Note> updateNote(Long id, Long discordUserId, Long expectedVersion, Note changes) {
+        return update(id, discordUserId, expectedVersion, changes)
+            .flatMap(updated -> noteEventStream.publish(NoteEventType.UPSERTED, updated).thenReturn(updated))
+            .as(transactionalOperator::transactional)
+            .doOnNext(updated -> titleSuggestIndex.onUpsert(updated.getId(), updated.getDiscordUserId(), updated.getTitle()));
+    }
+
+    public Mono<Boolean> deleteNote(Long id, Long discordUserId, Long expectedVersion) {
+        return noteRepository.deleteOwned(id, discordUserId, expectedVersion)
+            .flatMap(deleted -> noteEventStream.publish(NoteEventType.DELETED, deleted).thenReturn(deleted))
+            .as(transactionalOperator::transactional)
+            .doOnNext(deleted -> titleSuggestIndex.onDelete(deleted.getId(), deleted.getDiscordUserId()))
+            .hasElement();
+    }
+
+    public Mono<Long> findNoteOwner(Long id) {
+        return noteRepository.findOwnerById(id);
+    }
+
+    public Mono<List<NoteBatchResult>> applyBatch(Long discordUserId, List<NoteBatchOperation> operations) {
+        Set<Long> targetIds = new HashSet<>();
+
+        for (NoteBatchOperation operation : operations) {
+            if (operation.id() != null) {
+                targetIds.add(operation.id());
+            }
+        }
+
+        Map<Long, Note> targets = new HashMap<>();
+        Map<Long, Note> upserted = new LinkedHashMap<>();
+        Map<Long, Note> deleted = new LinkedHashMap<>();
+
+        // Operations run one after another so later ones see the effect of earlier ones, as in the servlet backend.
+        Flux<Note> loadTargets = targetIds.isEmpty() ? Flux.empty() : noteRepository.findAllByIdIn(targetIds);
+
+        Mono<List<NoteBatchResult>> batch = loadTargets
+            .doOnNext(note -> targets.put(note.getId(), note))
+            .thenMany(Flux.range(0, operations.size()))
+            .concatMap(index -> applyOperation(discordUserId, index, operations.get(index), targets, upserted, deleted))
+            .collectList()
+            .flatMap(results -> {
+                List<NoteChangeEvent> events = new ArrayList<>(upserted.size() + deleted.size());
+
+                upserted.values().forEach(note -> events.add(NoteEventStream.event(NoteEventType.UPSERTED, note)));
+                deleted.values().forEach(note -> events.add(NoteEventStream.event(NoteEventType.DELETED, note)));
+
+                return noteEventStream.publish(events).thenReturn(results);
+            });
+
+        return batch.as(transactionalOperator::transactional)
+            .doOnNext(results -> {
+                upserted.values().forEach(note -> titleSuggestIndex.onUpsert(note.getId(), note.getDiscordUserId(), note.getTitle()));
+                deleted.values().forEach(note -> titleSuggestIndex.onDelete(note.getId(), note.getDiscordUserId()));
+            });
+    }
+
+    private Mono<NoteBatchResult> applyOperation(
+        Long discordUserId,
+        int index,
+        NoteBatchOperation operation,
+        Map<Long, Note> targets,
+        Map<Long, Note> upserted,
+        Map<Long, Note> deleted
+    ) {
+        String op = operation.op() == null ? "" : operation.op();
+
+        if ("create".equals(op)) {
+            if (operation.note() == null) {
+                return Mono.just(NoteBatchResult.failure(index, op, 400, null, "Missing note"));
+            }
+
+            return insert(discordUserId, operation.note()).map(note -> {
+                upserted.put(note.getId(), note);
+                return NoteBatchResult.success(index, op, 201, note);
+            });
+        }
+
+        if (!"update".equals(op) && !"delete".equals(op)) {
+            return Mono.just(NoteBatchResult.failure(index, op, 400, operation.id(), "Unknown op"));
+        }
+
+        Note target = operation.id() != null ? targets.get(operation.id()) : null;
+
+        if (target == null) {
+            return Mono.just(NoteBatchResult.failure(index, op, 404, operation.id(), "Note not found"));
+        }
+
+        if (!discordUserId.equals(target.getDiscordUserId())) {
+            return Mono.just(NoteBatchResult.failure(index, op, 403, operation.id(), "Forbidden"));
+        }
+
+        if ("delete".equals(op)) {
+            return noteRepository.deleteOwned(target.getId(), discordUserId, null).map(note -> {
+                targets.remove(note.getId());
+                upserted.remove(note.getId());
+                deleted.put(note.getId(), note);
+                return NoteBatchResult.deleted(index, note.getId());
+            });
+        }
+
+        if (operation.note() == null) {
+            return Mono.just(NoteBatchResult.failure(index, op, 400, operation.id(), "Missing note"));
+        }
+
+        return update(target.getId(), discordUserId, null, operation.note()).map(note -> {
+            targets.put(note.getId(), note);
+            upserted.put(note.getId(), note);
+            return NoteBatchResult.success(index, op, 200, note);
+        });
+    }
+
+    private Mono<Note> insert(Long discordUserId, Note note) {
+        return noteRepository.insert(
+            discordUserId,
+            note.getTitle(),
+            note.getContent(),
+            note.getServerId(),
+            note.getChannelId(),
+            note.getVisibility(),
+            note.getAlertAt(),
+            new Date()
+        );
+    }
+
+    private Mono<Note> update(Long id, Long discordUserId, Long expectedVersion, Note changes) {
+        return noteRepository.updateOwned(
+            id,
+            discordUserId,
+            expectedVersion,
+            changes.getTitle(),
+            changes.getContent(),
+            changes.getVisibility(),
+            changes.getAlertAt(),
+            new Date()
+        );
+    }
+}
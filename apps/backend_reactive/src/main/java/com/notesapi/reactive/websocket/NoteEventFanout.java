@@ -0,0 +1,176 @@
+package com.notesapi.reactive.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapi.events.NoteChangeEvent;
+import com.notesapi.reactive.events.NoteEventStream;
+import com.notesapi.reactive.models.Note;
+import com.notesapi.reactive.repositories.NoteRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes each batch of note events to the connected clients it concerns, with the same frames as the
+ * servlet stack: note.upserted, note.deleted and owner-only note.alert, or one notes.batch frame for a
+ * client touched by several events. Batches are handled one at a time, in order.
+ */
+@Component
+public class NoteEventFanout implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(NoteEventFanout.class);
+
+    private final NoteEventStream noteEventStream;
+    private final NoteRepository noteRepository;
+    private final NotesClientRegistry registry;
+    private final ObjectMapper mapper;
+
+    private volatile Disposable subscription;
+
+    public NoteEventFanout(
+        NoteEventStream noteEventStream,
+        NoteRepository noteRepository,
+        NotesClientRegistry registry,
+        ObjectMapper mapper
+    ) {
+        this.noteEventStream = noteEventStream;
+        this.noteRepository = noteRepository;
+        this.registry = registry;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void start() {
+        subscription = noteEventStream.events()
+            .concatMap(events -> deliver(events)
+                .onErrorResume(e -> {
+                    log.warn("Failed to fan out {} note events: {}", events.size(), e.getMessage());
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+
+    // Starts before the listener so no committed event is emitted with nobody subscribed.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private Mono<Void> deliver(List<NoteChangeEvent> events) {
+        List<Long> upsertedIds = new ArrayList<>();
+        List<Long> alertedIds = new ArrayList<>();
+        List<NoteChangeEvent> deleted = new ArrayList<>();
+
+        for (NoteChangeEvent event : events) {
+            if (!registry.hasClientsFor(event.discordUserId(), event.channelId(), event.visibility())) {
+                continue;
+            }
+
+            switch (event.type()) {
+                case DELETED -> deleted.add(event);
+                case ALERTED -> alertedIds.add(event.noteId());
+                default -> upsertedIds.add(event.noteId());
+            }
+        }
+
+        if (upsertedIds.isEmpty() && alertedIds.isEmpty() && deleted.isEmpty()) {
+            return Mono.empty();
+        }
+
+        List<Long> loadIds = new ArrayList<>(upsertedIds);
+
+        loadIds.addAll(alertedIds);
+
+        Flux<Note> notes = loadIds.isEmpty() ? Flux.empty() : noteRepository.findAllWithBodyByIdIn(loadIds);
+
+        return notes
+            .collectMap(Note::getId)
+            .doOnNext(loaded -> broadcastAll(pick(loaded, upsertedIds), deleted, pick(loaded, alertedIds)))
+            .then();
+    }
+
+    private void broadcastAll(List<Note> upserted, List<NoteChangeEvent> deleted, List<Note> alerted) {
+        Map<NotesClient, List<String>> pendingByClient = new LinkedHashMap<>();
+
+        for (Note note : upserted) {
+            collect(pendingByClient, registry.clientsFor(note.getDiscordUserId(), note.getChannelId(), note.getVisibility()),
+                Map.of("type", "note.upserted", "note", note));
+        }
+
+        for (NoteChangeEvent event : deleted) {
+            collect(pendingByClient, registry.clientsFor(event.discordUserId(), event.channelId(), event.visibility()),
+                Map.of("type", "note.deleted", "noteId", event.noteId()));
+        }
+
+        for (Note note : alerted) {
+            collect(pendingByClient, registry.clientsFor(note.getDiscordUserId(), note.getChannelId(), "private"),
+                Map.of("type", "note.alert", "note", note));
+        }
+
+        pendingByClient.forEach((client, frames) -> {
+            if (frames.size() == 1) {
+                client.send(frames.get(0));
+                return;
+            }
+
+            client.send("{\"type\":\"notes.batch\",\"events\":[" + String.join(",", frames) + "]}");
+        });
+    }
+
+    private void collect(Map<NotesClient, List<String>> pendingByClient, List<NotesClient> targets, Object payload) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        String json;
+
+        try {
+            json = mapper.writeValueAsString(payload);
+        } catch (Exception e) {
+            log.warn("Failed to serialize WebSocket frame: {}", e.getMessage());
+            return;
+        }
+
+        for (NotesClient client : targets) {
+            pendingByClient.computeIfAbsent(client, key -> new ArrayList<>()).add(json);
+        }
+    }
+
+    private List<Note> pick(Map<Long, Note> loaded, List<Long> ids) {
+        List<Note> notes = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            Note note = loaded.get(id);
+
+            if (note != null) {
+                notes.add(note);
+            }
+        }
+
+        return notes;
+    }
+}
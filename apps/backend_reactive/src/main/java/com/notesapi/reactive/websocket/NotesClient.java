@@ -0,0 +1,52 @@
+package com.notesapi.reactive.websocket;
+
+import io.micrometer.core.instrument.Counter;
+
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One connected WebSocket. Frames are pushed into a sink and drained by the session's send pipeline; a
+ * consumer that falls more than the queue capacity behind loses its oldest frames, as in the servlet stack.
+ */
+final class NotesClient {
+    private final WebSocketSession session;
+    private final Long discordUserId;
+    private final Set<Long> channels = ConcurrentHashMap.newKeySet();
+    private final Sinks.Many<String> frames = Sinks.many().unicast().onBackpressureBuffer();
+
+    NotesClient(WebSocketSession session, Long discordUserId) {
+        this.session = session;
+        this.discordUserId = discordUserId;
+    }
+
+    Long discordUserId() {
+        return discordUserId;
+    }
+
+    Set<Long> channels() {
+        return channels;
+    }
+
+    // Fan-out is the only producer and emits from a single thread, so emissions never race.
+    void send(String json) {
+        frames.tryEmitNext(json);
+    }
+
+    void complete() {
+        frames.tryEmitComplete();
+    }
+
+    Flux<WebSocketMessage> outbound(int queueCapacity, Counter droppedOldest) {
+        return frames.asFlux()
+            .onBackpressureBuffer(queueCapacity, dropped -> droppedOldest.increment(), BufferOverflowStrategy.DROP_OLDEST)
+            .map(session::textMessage);
+    }
+}
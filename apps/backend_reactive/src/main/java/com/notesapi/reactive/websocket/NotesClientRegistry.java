@@ -0,0 +1,93 @@
+package com.notesapi.reactive.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class NotesClientRegistry {
+    private static final String PUBLIC_VISIBILITY = "public";
+
+    private final ConcurrentHashMap<Long, Set<NotesClient>> clientsByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<NotesClient>> clientsByChannel = new ConcurrentHashMap<>();
+
+    void register(NotesClient client) {
+        add(clientsByUser, client.discordUserId(), client);
+    }
+
+    void unregister(NotesClient client) {
+        remove(clientsByUser, client.discordUserId(), client);
+
+        for (Long channelId : client.channels()) {
+            remove(clientsByChannel, channelId, client);
+        }
+    }
+
+    void subscribeChannel(NotesClient client, Long channelId) {
+        if (client.channels().add(channelId)) {
+            add(clientsByChannel, channelId, client);
+        }
+    }
+
+    void unsubscribeChannel(NotesClient client, Long channelId) {
+        if (client.channels().remove(channelId)) {
+            remove(clientsByChannel, channelId, client);
+        }
+    }
+
+    List<NotesClient> clientsFor(Long ownerId, Long channelId, String visibility) {
+        Set<NotesClient> owners = clientsByUser.getOrDefault(ownerId, Set.of());
+        Set<NotesClient> subscribers = PUBLIC_VISIBILITY.equals(visibility) && channelId != null
+            ? clientsByChannel.getOrDefault(channelId, Set.of())
+            : Set.of();
+
+        List<NotesClient> targets = new ArrayList<>(owners.size() + subscribers.size());
+
+        targets.addAll(owners);
+
+        for (NotesClient subscriber : subscribers) {
+            if (!ownerId.equals(subscriber.discordUserId())) {
+                targets.add(subscriber);
+            }
+        }
+
+        return targets;
+    }
+
+    boolean hasClientsFor(Long ownerId, Long channelId, String visibility) {
+        return clientsByUser.containsKey(ownerId)
+            || (PUBLIC_VISIBILITY.equals(visibility) && channelId != null && clientsByChannel.containsKey(channelId));
+    }
+
+    public int clientCount() {
+        int count = 0;
+
+        for (Set<NotesClient> clients : clientsByUser.values()) {
+            count += clients.size();
+        }
+
+        return count;
+    }
+
+    private void add(Map<Long, Set<NotesClient>> index, Long key, NotesClient client) {
+        index.compute(key, (k, clients) -> {
+            Set<NotesClient> target = clients != null ? clients : ConcurrentHashMap.newKeySet();
+
+            target.add(client);
+
+            return target;
+        });
+    }
+
+    private void remove(Map<Long, Set<NotesClient>> index, Long key, NotesClient client) {
+        index.computeIfPresent(key, (k, clients) -> {
+            clients.remove(client);
+
+            return clients.isEmpty() ? null : clients;
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.notesapi.reactive.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapi.reactive.security.AuthAttributes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * An idle connection is just a registry entry and an empty sink; nothing holds a thread while it waits.
+ */
+@Component
+public class NotesWebSocketHandler implements WebSocketHandler {
+    private static final Logger log = LoggerFactory.getLogger(NotesWebSocketHandler.class);
+
+    private final NotesClientRegistry registry;
+    private final int queueCapacity;
+    private final Counter droppedOldest;
+    private final ObjectMapper mapper;
+
+    public NotesWebSocketHandler(
+        NotesClientRegistry registry,
+        MeterRegistry meterRegistry,
+        ObjectMapper mapper,
+        @Value("${notes.websocket.queue-capacity:256}") int queueCapacity
+    ) {
+        this.registry = registry;
+        this.mapper = mapper;
+        this.queueCapacity = queueCapacity;
+        this.droppedOldest = Counter.builder("notes.websocket.dropped")
+            .tag("policy", "drop_oldest")
+            .register(meterRegistry);
+
+        meterRegistry.gauge("notes.websocket.sessions", registry, NotesClientRegistry::clientCount);
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> handle(@NonNull WebSocketSession session) {
+        Long discordUserId = (Long) session.getAttributes().get(AuthAttributes.DISCORD_USER_ID);
+        NotesClient client = new NotesClient(session, discordUserId);
+
+        registry.register(client);
+
+        Mono<Void> inbound = session.receive()
+            .map(WebSocketMessage::getPayloadAsText)
+            .doOnNext(payload -> handleCommand(client, payload))
+            .then();
+
+        Mono<Void> outbound = session.send(client.outbound(queueCapacity, droppedOldest));
+
+        // Either side ending (client gone, send failed) ends the session.
+        return Mono.zip(inbound, outbound)
+            .then()
+            .doFinally(signal -> {
+                registry.unregister(client);
+                client.complete();
+            });
+    }
+
+    private void handleCommand(NotesClient client, String payload) {
+        JsonNode command;
+
+        try {
+            command = mapper.readTree(payload);
+        } catch (Exception e) {
+            log.debug("Ignoring unreadable WebSocket command: {}", e.getMessage());
+            return;
+        }
+
+        String action = command.path("action").asText();
+        JsonNode channelId = command.path("channelId");
+
+        if (!channelId.canConvertToLong()) {
+            return;
+        }
+
+        switch (action) {
+            case "subscribe" -> registry.subscribeChannel(client, channelId.asLong());
+            case "unsubscribe" -> registry.unsubscribeChannel(client, channelId.asLong());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.notesapi.benchmarks;
+
+import com.notesapi.discord.DiscordHttpClient;
+import com.notesapi.security.DiscordAuthFilter;
+import com.notesapi.security.JwtAuthFilter;
+import com.notesapi.security.JwtService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated GET /notes request through both auth filters, in the order SecurityConfig installs
+ * them, with the token already cached: a web client's JWT, and the Discord bot's OAuth token (which
+ * the JWT filter passes over). Includes building the mock request, which every real request pays for
+ * in some form too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterChainBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final String DISCORD_TOKEN = "discord-oauth-access-token";
+
+    private JwtAuthFilter jwtAuthFilter;
+    private DiscordAuthFilter discordAuthFilter;
+    private String jwt;
+
+    @Setup
+    public void setUp() throws ServletException, IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtService jwtService = new JwtService(SECRET, 10_000, meterRegistry);
+
+        jwtAuthFilter = new JwtAuthFilter(jwtService);
+        discordAuthFilter = new DiscordAuthFilter(meterRegistry, new CannedDiscordClient(meterRegistry), 10_000, 3600, 10, 2);
+        jwt = jwtService.generate(String.valueOf(Fixtures.OWNER_ID));
+
+        // Fill both caches.
+        jwtRequest();
+        discordRequest();
+    }
+
+    @Benchmark
+    public Object jwtRequest() throws ServletException, IOException {
+        return filter("Bearer " + jwt);
+    }
+
+    @Benchmark
+    public Object discordRequest() throws ServletException, IOException {
+        return filter("Bearer " + DISCORD_TOKEN);
+    }
+
+    private Object filter(String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notes/user/" + Fixtures.OWNER_ID);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+
+        FilterChain chain = (req, res) -> discordAuthFilter.doFilter(req, res, (innerReq, innerRes) -> {
+        });
+
+        try {
+            jwtAuthFilter.doFilter(request, response, chain);
+
+            return request.getAttribute("discordUserId");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Answers the first validation of a token; later ones are served from DiscordAuthFilter's cache.
+    private static final class CannedDiscordClient extends DiscordHttpClient {
+        CannedDiscordClient(SimpleMeterRegistry meterRegistry) {
+            super(meterRegistry, new StandardEnvironment(), 2000, 3000, 1, 0, 5, 30_000);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> exchange(String endpoint, HttpMethod method, String path, HttpEntity<?> entity, Class<T> type) {
+            return ResponseEntity.ok((T) Map.of("id", String.valueOf(Fixtures.OWNER_ID)));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.notesapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.notesapi.models.Note;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Notes and the JSON codec shared by the benchmarks. Notes are built through Jackson, which fills the
+ * JPA-managed fields (id, version, timestamps) that have no setters, the same way an import does.
+ */
+final class Fixtures {
+    static final long OWNER_ID = 123456789012345678L;
+    static final long CHANNEL_ID = 987654321098765432L;
+
+    private static final String WORDS = "the quick brown fox jumps over a lazy dog while notes pile up in the channel ";
+
+    private Fixtures() {
+    }
+
+    // What Spring Boot configures for MVC message conversion, without the context, including JacksonConfig's Blackbird.
+    static ObjectMapper objectMapper() {
+        return objectMapper(true);
+    }
+
+    static ObjectMapper objectMapper(boolean blackbird) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+
+        return builder.build();
+    }
+
+    static Note note(ObjectMapper mapper, long id, Date createdAt, String visibility, int contentLength) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        fields.put("id", id);
+        fields.put("version", 0L);
+        fields.put("createdAt", createdAt);
+        fields.put("updatedAt", createdAt);
+        fields.put("title", "Note " + id);
+        fields.put("content", text(contentLength, new Random(id)));
+        fields.put("serverId", 1L);
+        fields.put("channelId", CHANNEL_ID);
+        fields.put("discordUserId", OWNER_ID);
+        fields.put("visibility", visibility);
+
+        return mapper.convertValue(fields, Note.class);
+    }
+
+    static String text(int length, Random random) {
+        StringBuilder text = new StringBuilder(length);
+
+        while (text.length() < length) {
+            int start = random.nextInt(WORDS.length());
+
+            text.append(WORDS, start, WORDS.length());
+        }
+
+        text.setLength(length);
+
+        return text.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.notesapi.benchmarks;
+
+import com.notesapi.security.JwtService;
+import com.notesapi.security.VerifiedToken;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning a bearer JWT into a discordUserId: the old path that built a parser for
+ * every request, a shared parser (what a cache miss costs now), and a verified-token cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtService jwtService;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 10_000, new SimpleMeterRegistry());
+        sharedParser = Jwts.parserBuilder().setSigningKey(SECRET.getBytes(StandardCharsets.UTF_8)).build();
+        token = jwtService.generate("123456789012345678");
+
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Long parserPerRequest() {
+        JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET.getBytes(StandardCharsets.UTF_8))
+            .build();
+
+        return Long.parseLong(parser.parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Benchmark
+    public Long sharedParser() {
+        return Long.parseLong(sharedParser.parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Benchmark
+    public Long cachedVerify() {
+        VerifiedToken verified = jwtService.verify(token);
+
+        return verified.discordUserId();
+    }
+}
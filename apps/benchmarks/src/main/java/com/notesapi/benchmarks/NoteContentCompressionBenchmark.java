@@ -0,0 +1,153 @@
+package com.notesapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * CPU cost of compressing and inflating one note body with the JDK's Deflater, on the kinds of content notes
+ * hold: a pasted application log, long markdown, and a short note. The ratio for each corpus and level is printed
+ * at setup. Postgres already stores bodies over ~2 kB compressed (see db/003-note-content-compression.sql), so
+ * this is the yardstick for whether compressing in the application would buy anything on top; compare with
+ * {@code SELECT sum(pg_column_size(content))::float / sum(octet_length(content)) FROM note_bodies}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteContentCompressionBenchmark {
+    private static final String[] LOG_LEVELS = {"INFO", "INFO", "INFO", "DEBUG", "WARN", "ERROR"};
+    private static final String[] LOGGERS = {
+        "c.n.services.NoteService", "c.n.security.DiscordAuthFilter", "c.n.events.OutboxRelay", "o.h.engine.jdbc.spi.SqlExceptionHelper"
+    };
+    private static final String[] WORDS = (
+        "the a to and of in for on with is it this that note meeting discord channel server reminder deploy fix bug "
+            + "api cache query index table user token release plan review remember tomorrow friday todo done link"
+    ).split(" ");
+
+    @Param({"log", "markdown", "short"})
+    public String corpus;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private byte[] content;
+    private byte[] compressed;
+    private byte[] buffer;
+    private Deflater deflater;
+    private Inflater inflater;
+
+    @Setup
+    public void setUp() throws DataFormatException {
+        content = generate(corpus, new Random(42)).getBytes(StandardCharsets.UTF_8);
+        buffer = new byte[content.length + 64];
+        deflater = new Deflater(level);
+        inflater = new Inflater();
+
+        int compressedLength = compress();
+
+        compressed = Arrays.copyOf(buffer, compressedLength);
+
+        System.out.printf("%n%s, level %d: %d -> %d bytes, ratio %.2f%n",
+            corpus, level, content.length, compressedLength, (double) content.length / compressedLength);
+
+        if (decompress() != content.length) {
+            throw new IllegalStateException("Round trip lost data");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        deflater.end();
+        inflater.end();
+    }
+
+    @Benchmark
+    public int compress() {
+        deflater.reset();
+        deflater.setInput(content);
+        deflater.finish();
+
+        int length = 0;
+
+        while (!deflater.finished()) {
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public int decompress() throws DataFormatException {
+        inflater.reset();
+        inflater.setInput(compressed);
+
+        int length = 0;
+
+        while (!inflater.finished()) {
+            length += inflater.inflate(buffer, length, buffer.length - length);
+        }
+
+        return length;
+    }
+
+    private static String generate(String corpus, Random random) {
+        StringBuilder text = new StringBuilder();
+
+        switch (corpus) {
+            case "log" -> {
+                // ~16 kB: what gets pasted when someone saves a stack of server output.
+                for (int i = 0; text.length() < 16_000; i++) {
+                    text.append(String.format("2026-10-18T15:%02d:%02d.%03dZ %5s %d --- [nio-8080-exec-%d] %-40s : ",
+                        i / 60 % 60, i % 60, random.nextInt(1000), pick(LOG_LEVELS, random), 4211, random.nextInt(10),
+                        pick(LOGGERS, random)));
+                    text.append("handled request ").append(random.nextInt(100_000))
+                        .append(" in ").append(random.nextInt(500)).append(" ms\n");
+                }
+            }
+            case "markdown" -> {
+                // ~4 kB of headings, bullet lists and prose.
+                while (text.length() < 4_000) {
+                    text.append("## ").append(sentence(random, 4)).append("\n\n");
+                    text.append(sentence(random, 40)).append(".\n\n");
+
+                    for (int item = 0; item < 3; item++) {
+                        text.append("- [").append(random.nextBoolean() ? "x" : " ").append("] ")
+                            .append(sentence(random, 6)).append('\n');
+                    }
+
+                    text.append('\n');
+                }
+            }
+            default -> text.append(sentence(random, 30)).append('.');
+        }
+
+        return text.toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+
+            sentence.append(pick(WORDS, random));
+        }
+
+        return sentence.toString();
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
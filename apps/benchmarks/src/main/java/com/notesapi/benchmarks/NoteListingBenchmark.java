@@ -0,0 +1,149 @@
+package com.notesapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapi.cache.NoteCache;
+import com.notesapi.dto.NotePage;
+import com.notesapi.models.Note;
+import com.notesapi.repositories.NoteRepository;
+import com.notesapi.services.NoteService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NoteService#getUserNotes} for a user with {@code noteCount} notes. "sortAllInMemory" is the
+ * original implementation, which loaded every note and sorted them on each request; the service now
+ * asks the repository for one keyset page, which this benchmark answers from a pre-sorted array the way
+ * the (discord_user_id, created_at, id) index would. That isolates the service and NoteCache overhead
+ * from the database: "firstPage" misses the cache, "firstPageCached" hits it, and "allPages" walks
+ * every page with the cursor, which is what a full listing costs now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteListingBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private static final Comparator<Note> NEWEST_FIRST = Comparator.comparing(Note::getCreatedAt)
+        .thenComparing(Note::getId)
+        .reversed();
+
+    @Param({"10", "1000", "100000"})
+    public int noteCount;
+
+    private List<Note> unsorted;
+    private Note[] newestFirst;
+    private NoteCache noteCache;
+    private NoteService noteService;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Fixtures.objectMapper();
+        long now = System.currentTimeMillis();
+
+        unsorted = new ArrayList<>(noteCount);
+
+        // Ids and timestamps disagree on order, as they do once notes are imported or come from several nodes.
+        for (int i = 0; i < noteCount; i++) {
+            long id = (i * 7919L) % noteCount + 1;
+
+            unsorted.add(Fixtures.note(mapper, id, new Date(now - i * 1000L), "private", 100));
+        }
+
+        newestFirst = unsorted.toArray(new Note[0]);
+        Arrays.sort(newestFirst, NEWEST_FIRST);
+
+        noteCache = new NoteCache(new SimpleMeterRegistry(), 10_000, 1_000, 3600);
+        noteService = new NoteService(keysetRepository(), null, noteCache, null, null);
+    }
+
+    @Benchmark
+    public List<Note> sortAllInMemory() {
+        List<Note> notes = new ArrayList<>(unsorted);
+
+        notes.sort(Comparator.comparing(Note::getCreatedAt).reversed());
+
+        return notes;
+    }
+
+    @Benchmark
+    public NotePage<Note> firstPage() {
+        noteCache.evict(null, Fixtures.OWNER_ID);
+
+        return noteService.getUserNotes(Fixtures.OWNER_ID, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public NotePage<Note> firstPageCached() {
+        return noteService.getUserNotes(Fixtures.OWNER_ID, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int allPages() {
+        noteCache.evict(null, Fixtures.OWNER_ID);
+
+        int count = 0;
+        String cursor = null;
+
+        do {
+            NotePage<Note> page = noteService.getUserNotes(Fixtures.OWNER_ID, cursor, PAGE_SIZE);
+
+            count += page.items().size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        return count;
+    }
+
+    // Only the two keyset queries getUserNotes issues are answered; anything else is a benchmark bug.
+    private NoteRepository keysetRepository() {
+        return (NoteRepository) Proxy.newProxyInstance(
+            NoteRepository.class.getClassLoader(),
+            new Class<?>[] { NoteRepository.class },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findFirstPage" -> page(0, (Limit) args[1]);
+                case "findPageAfter" -> page(firstAfter((Date) args[1], (Long) args[2]), (Limit) args[3]);
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "KeysetNoteRepository";
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    private List<Note> page(int from, Limit limit) {
+        return Arrays.asList(newestFirst).subList(from, Math.min(from + limit.max(), newestFirst.length));
+    }
+
+    // Binary search for the first note strictly older than the cursor, as an index seek would.
+    private int firstAfter(Date createdAt, Long id) {
+        int low = 0;
+        int high = newestFirst.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Note note = newestFirst[mid];
+            int cmp = note.getCreatedAt().compareTo(createdAt);
+
+            if (cmp > 0 || (cmp == 0 && note.getId() >= id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
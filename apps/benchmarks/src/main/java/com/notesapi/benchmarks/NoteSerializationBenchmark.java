@@ -0,0 +1,100 @@
+package com.notesapi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.notesapi.dto.NotePage;
+import com.notesapi.models.Note;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing notes as the REST API does: one note (GET /notes/{id}), a listing page of
+ * {@value #PAGE_SIZE}, and a String like the WebSocket handler puts in a text frame. The Smile and CBOR
+ * variants are what clients that opt into a binary format get. {@code blackbird=false} is the mapper
+ * without JacksonConfig's Blackbird module. Run with {@code -prof gc} to see bytes allocated per note.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteSerializationBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"200", "8000"})
+    public int contentLength;
+
+    @Param({"true", "false"})
+    public boolean blackbird;
+
+    private ObjectMapper mapper;
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+    private ObjectWriter noteWriter;
+    private Note note;
+    private NotePage<Note> page;
+
+    @Setup
+    public void setUp() {
+        mapper = Fixtures.objectMapper(blackbird);
+        smileMapper = mapper.copyWith(new SmileFactory());
+        cborMapper = mapper.copyWith(new CBORFactory());
+        noteWriter = mapper.writerFor(Note.class);
+
+        long now = System.currentTimeMillis();
+        List<Note> notes = new ArrayList<>(PAGE_SIZE);
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            notes.add(Fixtures.note(mapper, i + 1, new Date(now - i * 60_000L), "private", contentLength));
+        }
+
+        note = notes.get(0);
+        page = new NotePage<>(notes, "cursor");
+    }
+
+    @Benchmark
+    public byte[] noteToBytes() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(note);
+    }
+
+    @Benchmark
+    public byte[] noteToBytesPrefetchedWriter() throws JsonProcessingException {
+        return noteWriter.writeValueAsBytes(note);
+    }
+
+    @Benchmark
+    public String noteToString() throws JsonProcessingException {
+        return mapper.writeValueAsString(note);
+    }
+
+    @Benchmark
+    public byte[] noteToSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(note);
+    }
+
+    @Benchmark
+    public byte[] noteToCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(note);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public byte[] pageToBytes() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public byte[] pageToSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,98 @@
+package com.notesapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second when {@value #CONCURRENT_REQUESTS} requests are in flight and each blocks for
+ * {@code blockMillis} on I/O, as requests do on JDBC and the Discord token check. "platform" is Tomcat's
+ * default 200-thread pool; "virtual" is what {@code spring.threads.virtual.enabled} switches to.
+ * {@code pinned} blocks inside a ConcurrentHashMap loader the way the caches did before loads were moved
+ * out of the map's lock, which holds a monitor and pins the carrier thread on JDK 21-23.
+ *
+ * <p>Requests only sleep; JPA, the Discord call and WebSocket sends are not run, so this compares the threading
+ * models under blocking, not the cost of those paths. The virtual runs need JDK 21 or later, and a result is only
+ * meaningful with both sides from the same run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RequestThreadingBenchmark {
+    private static final int CONCURRENT_REQUESTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"false", "true"})
+    public boolean pinned;
+
+    @Param({"10"})
+    public long blockMillis;
+
+    private Executor executor;
+    private ConcurrentHashMap<Integer, Integer> cache;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("virtual")
+            ? new VirtualThreadTaskExecutor("request-")
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        cache = new ConcurrentHashMap<>(CONCURRENT_REQUESTS * 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void blockingRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            int key = i;
+
+            executor.execute(() -> {
+                try {
+                    if (pinned) {
+                        cache.computeIfAbsent(key, k -> block());
+                    } else {
+                        block();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+    }
+
+    private Integer block() {
+        try {
+            Thread.sleep(blockMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0;
+    }
+}
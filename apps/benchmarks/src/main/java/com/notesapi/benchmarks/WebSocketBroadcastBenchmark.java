@@ -0,0 +1,79 @@
+package com.notesapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapi.models.Note;
+import com.notesapi.websocket.NotesWebSocketHandler;
+import com.notesapi.websocket.OverflowPolicy;
+import com.notesapi.websocket.WebSocketDispatcher;
+import com.notesapi.websocket.WebSocketSessionRegistry;
+import com.notesapi.websocket.WireFormat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the publishing thread of {@link NotesWebSocketHandler#broadcast} for a public note whose
+ * owner is connected and whose channel has {@code sessions - 1} other subscribers, all on the {@code format}
+ * wire format: routing, encoding the event once and queueing the frame on every session. The dispatcher
+ * drains into sessions that discard the frames on its own threads, as in production, so those threads
+ * compete for CPU with the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketBroadcastBenchmark {
+    private static final int DISPATCHER_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 256;
+
+    @Param({"1", "100", "10000"})
+    public int sessions;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public WireFormat format;
+
+    private WebSocketDispatcher dispatcher;
+    private NotesWebSocketHandler handler;
+    private Note note;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper mapper = Fixtures.objectMapper();
+        WebSocketSessionRegistry registry = new WebSocketSessionRegistry();
+
+        dispatcher = new WebSocketDispatcher(
+            meterRegistry, new StandardEnvironment(), DISPATCHER_THREADS, QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST, 5000
+        );
+        handler = new NotesWebSocketHandler(registry, dispatcher, meterRegistry, mapper);
+
+        for (int i = 0; i < sessions; i++) {
+            long discordUserId = i == 0 ? Fixtures.OWNER_ID : i;
+            BenchmarkWebSocketSession session = new BenchmarkWebSocketSession("session-" + i, discordUserId, format.subprotocol());
+
+            handler.afterConnectionEstablished(session);
+
+            if (i > 0) {
+                registry.subscribeChannel(session, Fixtures.CHANNEL_ID);
+            }
+        }
+
+        note = Fixtures.note(mapper, 1, new Date(), "public", 500);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        handler.broadcast(note);
+    }
+}
@@ -0,0 +1,208 @@
+package com.notesapi.contract;
+
+import com.notesapi.security.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One Postgres and both apps, started once for the whole suite and stopped when the JVM exits. The servlet
+ * backend starts first because it creates and migrates the schema the reactive one reads.
+ *
+ * <p>Postgres is embedded unless {@code -Dcontract.database.url} points at one that is already running, which
+ * also has to be used where embedded Postgres cannot run, such as as root.
+ */
+final class ContractEnvironment {
+    static final String JWT_SECRET = "contract-tests-secret-contract-tests-secret-0123456789";
+    static final String BOT_TOKEN = "contract-tests-bot-token";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private static ContractEnvironment instance;
+
+    private final List<Process> processes = new ArrayList<>();
+    private final JwtService jwtService = new JwtService(JWT_SECRET, 1000, new SimpleMeterRegistry());
+    private EmbeddedPostgres embeddedPostgres;
+    private Deployment servlet;
+    private Deployment reactive;
+
+    private ContractEnvironment() {
+    }
+
+    static synchronized ContractEnvironment get() {
+        if (instance == null) {
+            ContractEnvironment environment = new ContractEnvironment();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(environment::stop, "contract-environment-stop"));
+
+            try {
+                environment.start();
+            } catch (Exception e) {
+                environment.stop();
+                throw new IllegalStateException("Could not start the contract environment: " + e.getMessage(), e);
+            }
+
+            instance = environment;
+        }
+
+        return instance;
+    }
+
+    Deployment servlet() {
+        return servlet;
+    }
+
+    Deployment reactive() {
+        return reactive;
+    }
+
+    String token(long discordUserId) {
+        return jwtService.generate(String.valueOf(discordUserId));
+    }
+
+    private void start() throws IOException, InterruptedException {
+        String jdbcUrl = System.getProperty("contract.database.url");
+        String username = System.getProperty("contract.database.username", "postgres");
+        String password = System.getProperty("contract.database.password", "");
+
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            embeddedPostgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = embeddedPostgres.getJdbcUrl("postgres", "postgres");
+            username = "postgres";
+            password = "";
+        }
+
+        File logDir = new File(System.getProperty("contract.log-dir", "target/app-logs"));
+
+        if (!logDir.isDirectory() && !logDir.mkdirs()) {
+            throw new IOException("Cannot create " + logDir);
+        }
+
+        int servletPort = freePort();
+
+        servlet = Deployment.servlet(URI.create("http://localhost:" + servletPort));
+        launch("servlet", System.getProperty("contract.servlet-jar"), logDir, List.of(
+            "--server.port=" + servletPort,
+            "--management.server.port=-1",
+            "--spring.datasource.url=" + jdbcUrl,
+            "--spring.datasource.username=" + username,
+            "--spring.datasource.password=" + password,
+            "--spring.jpa.hibernate.ddl-auto=update",
+            "--spring.jpa.show-sql=false",
+            "--jwt.secret=" + JWT_SECRET,
+            "--discord.client_id=contract",
+            "--discord.client_secret=contract",
+            "--discord.redirect_uri=http://localhost/contract",
+            "--notes.events.bus=postgres",
+            "--notes.reminders.bot-token=" + BOT_TOKEN
+        ));
+        awaitReady(servlet);
+
+        int reactivePort = freePort();
+
+        reactive = Deployment.reactive(URI.create("http://localhost:" + reactivePort));
+        launch("reactive", System.getProperty("contract.reactive-jar"), logDir, List.of(
+            "--server.port=" + reactivePort,
+            "--management.server.port=-1",
+            "--spring.r2dbc.url=" + jdbcUrl.replaceFirst("^jdbc:", "r2dbc:"),
+            "--spring.r2dbc.username=" + username,
+            "--spring.r2dbc.password=" + password,
+            "--jwt.secret=" + JWT_SECRET,
+            "--notes.reminders.bot-token=" + BOT_TOKEN
+        ));
+        awaitReady(reactive);
+    }
+
+    private void launch(String name, String jar, File logDir, List<String> args) throws IOException {
+        if (jar == null || !new File(jar).isFile()) {
+            throw new IOException("No " + name + " jar at " + jar + "; run the suite through Maven after installing both apps");
+        }
+
+        List<String> command = new ArrayList<>();
+
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(args);
+
+        File log = new File(logDir, name + ".log");
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log)
+            .start();
+
+        processes.add(process);
+    }
+
+    // Any HTTP answer means the app is serving; an unauthenticated listing is cheap and exists on both.
+    private void awaitReady(Deployment deployment) throws InterruptedException, IOException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(deployment.baseUri().resolve("/notes/user/1")).GET().build();
+        Process process = processes.get(processes.size() - 1);
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("The " + deployment.name() + " app exited during startup; see its log under contract.log-dir");
+            }
+
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException notYet) {
+                Thread.sleep(500);
+            }
+        }
+
+        throw new IOException("The " + deployment.name() + " app did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private synchronized void stop() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+
+        processes.clear();
+
+        if (embeddedPostgres != null) {
+            try {
+                embeddedPostgres.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            embeddedPostgres = null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.notesapi.contract;
+
+import java.net.URI;
+
+/**
+ * Where one implementation is listening, and the few paths that differ between the two. Both serve a user's notes
+ * as NDJSON, oldest first: the servlet backend as an export download, the reactive one as a stream.
+ */
+record Deployment(String name, URI baseUri, String exportPathTemplate) {
+    static Deployment servlet(URI baseUri) {
+        return new Deployment("servlet", baseUri, "/notes/export");
+    }
+
+    static Deployment reactive(URI baseUri) {
+        return new Deployment("reactive", baseUri, "/notes/user/%d/stream");
+    }
+
+    URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    URI webSocketUri(String token) {
+        return URI.create("ws://" + baseUri.getAuthority() + "/ws?token=" + token);
+    }
+
+    String exportPath(long discordUserId) {
+        return exportPathTemplate.formatted(discordUserId);
+    }
+}
@@ -0,0 +1,408 @@
+package com.notesapi.contract;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.net.http.WebSocketHandshakeException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The HTTP and WebSocket behaviour clients rely on, asserted the same way against each implementation. A subclass
+ * only says which deployment it talks to, so a difference between the two shows up as a test failing on one side.
+ *
+ * <p>Every test works as users of its own, so tests do not see each other's notes and can run in any order.
+ */
+abstract class NotesContract {
+    private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Set<String> NOTE_FIELDS = Set.of(
+        "id", "version", "createdAt", "updatedAt", "title", "content", "serverId", "channelId", "discordUserId",
+        "visibility", "alertAt", "alertSentAt");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    abstract Deployment deployment();
+
+    @Test
+    void requestsWithoutATokenAreUnauthorized() throws Exception {
+        assertEquals(401, get("/notes/user/1", null).statusCode());
+        assertEquals(401, get("/notes/1", null).statusCode());
+        assertEquals(401, send("POST", "/notes", null, newNote("no token")).statusCode());
+    }
+
+    @Test
+    void anotherUsersListingIsForbidden() throws Exception {
+        long owner = newUserId();
+
+        assertEquals(403, get("/notes/user/" + (owner + 1), token(owner)).statusCode());
+        assertEquals(403, get("/notes/user/" + (owner + 1) + "/summaries", token(owner)).statusCode());
+    }
+
+    @Test
+    void createReturnsTheNoteOwnedByTheCaller() throws Exception {
+        long owner = newUserId();
+        HttpResponse<String> created = send("POST", "/notes", token(owner), newNote("created"));
+
+        assertEquals(201, created.statusCode());
+        assertEquals("\"0\"", created.headers().firstValue("ETag").orElse(null));
+
+        JsonNode note = json(created);
+
+        assertEquals(NOTE_FIELDS, fieldNames(note));
+        assertEquals(owner, note.get("discordUserId").asLong());
+        assertEquals(0, note.get("version").asLong());
+        assertEquals("private", note.get("visibility").asText());
+        assertEquals("created", note.get("title").asText());
+        assertEquals("body of created", note.get("content").asText());
+        assertTrue(note.get("alertSentAt").isNull());
+    }
+
+    @Test
+    void getHonoursOwnershipAndIfNoneMatch() throws Exception {
+        long owner = newUserId();
+        JsonNode note = create(owner, "read me");
+        String path = "/notes/" + note.get("id").asLong();
+
+        HttpResponse<String> read = get(path, token(owner));
+
+        assertEquals(200, read.statusCode());
+        assertEquals(note, json(read));
+
+        String etag = read.headers().firstValue("ETag").orElseThrow();
+
+        assertEquals(304, send(request(path, token(owner)).header("If-None-Match", etag).GET()).statusCode());
+        assertEquals(403, get(path, token(owner + 1)).statusCode());
+        assertEquals(404, get("/notes/" + Long.MAX_VALUE, token(owner)).statusCode());
+    }
+
+    @Test
+    void updateIsGuardedByIfMatch() throws Exception {
+        long owner = newUserId();
+        JsonNode note = create(owner, "before");
+        String path = "/notes/" + note.get("id").asLong();
+        String body = newNote("after");
+
+        assertEquals(403, send("PUT", path, token(owner + 1), body).statusCode());
+        assertEquals(412, send(request(path, token(owner)).header("If-Match", "\"7\"")
+            .PUT(HttpRequest.BodyPublishers.ofString(body))).statusCode());
+
+        HttpResponse<String> updated = send(request(path, token(owner)).header("If-Match", "\"0\"")
+            .PUT(HttpRequest.BodyPublishers.ofString(body)));
+
+        assertEquals(200, updated.statusCode());
+        assertEquals("\"1\"", updated.headers().firstValue("ETag").orElse(null));
+        assertEquals(1, json(updated).get("version").asLong());
+        assertEquals("after", json(get(path, token(owner))).get("title").asText());
+    }
+
+    @Test
+    void deleteRemovesTheNote() throws Exception {
+        long owner = newUserId();
+        String path = "/notes/" + create(owner, "short lived").get("id").asLong();
+
+        assertEquals(403, send("DELETE", path, token(owner + 1), null).statusCode());
+        assertEquals(204, send("DELETE", path, token(owner), null).statusCode());
+        assertEquals(404, get(path, token(owner)).statusCode());
+        assertEquals(404, send("DELETE", path, token(owner), null).statusCode());
+    }
+
+    @Test
+    void batchAppliesEachOperationInOneRequest() throws Exception {
+        long owner = newUserId();
+        long kept = create(owner, "kept").get("id").asLong();
+        long removed = create(owner, "removed").get("id").asLong();
+        long foreign = create(owner + 1, "foreign").get("id").asLong();
+        String body = mapper.writeValueAsString(List.of(
+            Map.of("op", "create", "note", mapper.readTree(newNote("batched"))),
+            Map.of("op", "update", "id", kept, "note", mapper.readTree(newNote("kept and changed"))),
+            Map.of("op", "delete", "id", removed),
+            Map.of("op", "delete", "id", foreign),
+            Map.of("op", "delete", "id", Long.MAX_VALUE)));
+
+        HttpResponse<String> response = send("POST", "/notes/batch", token(owner), body);
+
+        assertEquals(200, response.statusCode(), response.body());
+
+        JsonNode results = json(response);
+        List<Integer> statuses = new ArrayList<>();
+
+        results.forEach(result -> statuses.add(result.get("status").asInt()));
+
+        assertEquals(List.of(201, 200, 204, 403, 404), statuses);
+        assertEquals(removed, results.get(2).get("id").asLong());
+
+        JsonNode created = json(get("/notes/" + results.get(0).get("id").asLong(), token(owner)));
+
+        assertEquals("batched", created.get("title").asText());
+        assertEquals("body of batched", created.get("content").asText());
+        assertEquals("kept and changed", json(get("/notes/" + kept, token(owner))).get("title").asText());
+        assertEquals(404, get("/notes/" + removed, token(owner)).statusCode());
+        assertEquals(200, get("/notes/" + foreign, token(owner + 1)).statusCode());
+    }
+
+    @Test
+    void listingIsNewestFirstAndPagedByCursor() throws Exception {
+        long owner = newUserId();
+        List<Long> ids = new ArrayList<>();
+
+        for (String title : List.of("first", "second", "third")) {
+            ids.add(create(owner, title).get("id").asLong());
+        }
+
+        JsonNode firstPage = json(get("/notes/user/" + owner + "?limit=2", token(owner)));
+
+        assertEquals(List.of(ids.get(2), ids.get(1)), ids(firstPage.get("items")));
+        assertTrue(firstPage.get("nextCursor").isTextual());
+
+        JsonNode secondPage = json(get("/notes/user/" + owner + "?limit=2&cursor=" + firstPage.get("nextCursor").asText(), token(owner)));
+
+        assertEquals(List.of(ids.get(0)), ids(secondPage.get("items")));
+        assertTrue(secondPage.get("nextCursor") == null || secondPage.get("nextCursor").isNull());
+    }
+
+    @Test
+    void summariesAreOpenToTheBot() throws Exception {
+        long owner = newUserId();
+        long id = create(owner, "summarised").get("id").asLong();
+        String path = "/notes/user/" + owner + "/summaries";
+
+        JsonNode page = json(get(path, token(owner)));
+        JsonNode summary = page.get("items").get(0);
+
+        assertEquals(id, summary.get("id").asLong());
+        assertEquals("summarised", summary.get("title").asText());
+        assertFalse(summary.has("content"));
+
+        assertEquals(page, json(send(request(path, null).header("X-Bot-Token", ContractEnvironment.BOT_TOKEN).GET())));
+        assertEquals(401, send(request(path, null).header("X-Bot-Token", "wrong").GET()).statusCode());
+    }
+
+    @Test
+    void exportIsOldestFirst() throws Exception {
+        long owner = newUserId();
+        List<Long> ids = new ArrayList<>();
+
+        for (String title : List.of("first", "second", "third")) {
+            ids.add(create(owner, title).get("id").asLong());
+        }
+
+        HttpResponse<String> export = get(deployment().exportPath(owner), token(owner));
+
+        assertEquals(200, export.statusCode());
+        assertTrue(export.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+
+        List<Long> exported = new ArrayList<>();
+
+        for (String line : export.body().split("\n")) {
+            if (!line.isBlank()) {
+                assertTrue(line.startsWith("{") && line.endsWith("}"), "Not one note per line: [" + line + "]");
+
+                JsonNode note = mapper.readTree(line);
+
+                assertEquals(owner, note.get("discordUserId").asLong());
+                exported.add(note.get("id").asLong());
+            }
+        }
+
+        assertEquals(ids, exported);
+    }
+
+    @Test
+    void searchFindsAWordInTheBody() throws Exception {
+        long owner = newUserId();
+        String word = "contract" + UUID.randomUUID().toString().replace("-", "");
+        HttpRequest.Builder create = request("/notes", token(owner));
+        JsonNode note = json(send(create.POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(Map.of(
+            "title", "searchable",
+            "content", "this body mentions " + word + " once",
+            "serverId", 1,
+            "channelId", 2))))));
+
+        JsonNode page = json(get("/notes/search?q=" + word, token(owner)));
+
+        assertEquals(1, page.get("items").size());
+
+        JsonNode hit = page.get("items").get(0);
+
+        assertEquals(note.get("id").asLong(), hit.get("id").asLong());
+        assertTrue(hit.get("snippet").asText().contains("**" + word + "**"), hit.toString());
+        assertEquals(0, json(get("/notes/search?q=" + word, token(owner + 1))).get("items").size());
+        assertEquals(400, get("/notes/search?q=%20", token(owner)).statusCode());
+    }
+
+    @Test
+    void webSocketHandshakeNeedsAToken() {
+        URI uri = URI.create("ws://" + deployment().baseUri().getAuthority() + "/ws");
+        CompletionException failure = assertThrows(CompletionException.class,
+            () -> client.newWebSocketBuilder().buildAsync(uri, new Frames()).join());
+        WebSocketHandshakeException handshake = assertInstanceOf(WebSocketHandshakeException.class, failure.getCause());
+
+        assertEquals(401, handshake.getResponse().statusCode());
+    }
+
+    @Test
+    void webSocketReceivesTheOwnersChanges() throws Exception {
+        long owner = newUserId();
+        Frames frames = new Frames();
+        WebSocket socket = client.newWebSocketBuilder()
+            .buildAsync(deployment().webSocketUri(token(owner)), frames)
+            .get(EVENT_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        try {
+            long id = create(owner, "pushed").get("id").asLong();
+            JsonNode upserted = frames.next("note.upserted");
+
+            assertEquals(id, upserted.get("note").get("id").asLong());
+            assertEquals("pushed", upserted.get("note").get("title").asText());
+
+            assertEquals(204, send("DELETE", "/notes/" + id, token(owner), null).statusCode());
+            assertEquals(id, frames.next("note.deleted").get("noteId").asLong());
+        } finally {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    private JsonNode create(long owner, String title) throws IOException, InterruptedException {
+        HttpResponse<String> created = send("POST", "/notes", token(owner), newNote(title));
+
+        assertEquals(201, created.statusCode(), created.body());
+
+        return json(created);
+    }
+
+    private String newNote(String title) throws IOException {
+        return mapper.writeValueAsString(Map.of(
+            "title", title,
+            "content", "body of " + title,
+            "serverId", 1,
+            "channelId", 2));
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET());
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws IOException, InterruptedException {
+        return send(request(path, token).method(method, body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(deployment().uri(path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        return builder;
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        return mapper.readTree(response.body());
+    }
+
+    private String token(long discordUserId) {
+        return ContractEnvironment.get().token(discordUserId);
+    }
+
+    private static long newUserId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE / 2);
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new TreeSet<>();
+
+        node.fieldNames().forEachRemaining(names::add);
+
+        return names;
+    }
+
+    private static List<Long> ids(JsonNode items) {
+        List<Long> ids = new ArrayList<>();
+
+        items.forEach(item -> ids.add(item.get("id").asLong()));
+
+        return ids;
+    }
+
+    // Collects JSON text frames, unwrapping notes.batch envelopes so tests can wait for one event at a time.
+    private final class Frames implements WebSocket.Listener {
+        private final BlockingQueue<JsonNode> events = new LinkedBlockingQueue<>();
+        private final StringBuilder partial = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+
+            if (last) {
+                try {
+                    JsonNode frame = mapper.readTree(partial.toString());
+
+                    if ("notes.batch".equals(frame.path("type").asText())) {
+                        frame.get("events").forEach(events::add);
+                    } else {
+                        events.add(frame);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unreadable frame: " + partial, e);
+                } finally {
+                    partial.setLength(0);
+                }
+            }
+
+            webSocket.request(1);
+
+            return null;
+        }
+
+        // Skips events of other types, such as the upsert that precedes a delete.
+        JsonNode next(String type) throws InterruptedException {
+            long deadline = System.nanoTime() + EVENT_TIMEOUT.toNanos();
+
+            while (true) {
+                JsonNode event = events.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+                assertNotNull(event, "No " + type + " event within " + EVENT_TIMEOUT);
+
+                if (type.equals(event.path("type").asText())) {
+                    return event;
+                }
+            }
+        }
+    }
+}
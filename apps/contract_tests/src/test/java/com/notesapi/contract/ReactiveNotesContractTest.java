@@ -0,0 +1,8 @@
+package com.notesapi.contract;
+
+class ReactiveNotesContractTest extends NotesContract {
+    @Override
+    Deployment deployment() {
+        return ContractEnvironment.get().reactive();
+    }
+}
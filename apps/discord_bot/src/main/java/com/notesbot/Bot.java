@@ -5,6 +5,8 @@ import com.notesbot.commands.CreateNoteCommand;
 import com.notesbot.commands.DeleteNoteCommand;
 import com.notesbot.commands.EditNoteCommand;
 import com.notesbot.commands.Command;
+import com.notesbot.utils.ApiClient;
+import com.notesbot.utils.ReminderPoller;
 
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
@@ -21,6 +23,8 @@ import java.io.IOException;
 
 public class Bot extends ListenerAdapter {
     private final Map<String, Command> commands = new HashMap<>();
+    private final String apiBotToken;
+    private ReminderPoller reminderPoller;
 
     public static void main(String[] args) {
         Properties properties = new Properties();
@@ -32,12 +36,14 @@ public class Bot extends ListenerAdapter {
         }
 
         JDABuilder.createDefault(properties.getProperty("DISCORD_BOT_TOKEN"))
-            .addEventListeners(new Bot())
+            .addEventListeners(new Bot(properties.getProperty("API_BOT_TOKEN")))
             .build();
     }
 
-    public Bot() {
-        registerCommand(new ListNotesCommand());
+    public Bot(String apiBotToken) {
+        this.apiBotToken = apiBotToken;
+
+        registerCommand(new ListNotesCommand(new ApiClient(apiBotToken)));
         registerCommand(new CreateNoteCommand());
         registerCommand(new DeleteNoteCommand());
         registerCommand(new EditNoteCommand());
@@ -51,6 +57,11 @@ public class Bot extends ListenerAdapter {
     public void onReady(ReadyEvent event) {
         System.out.println("Bot is ready!");
 
+        if (reminderPoller == null && apiBotToken != null && !apiBotToken.isBlank()) {
+            reminderPoller = new ReminderPoller(event.getJDA(), new ApiClient(apiBotToken));
+            reminderPoller.start();
+        }
+
         // Only first time to create Discord commands
         /* event.getJDA().updateCommands().addCommands(
             Commands.slash("listar", "Listar todas as notas"),
@@ -11,28 +11,26 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 import com.notesbot.utils.ApiClient;
-import com.notesbot.models.Note;
+import com.notesbot.models.NoteSummary;
 
 public class ListNotesCommand implements Command {
-    ApiClient api = new ApiClient();
+    private final ApiClient api;
+
+    public ListNotesCommand(ApiClient api) {
+        this.api = api;
+    }
 
     @Override
     public String getName() {
         return "listar";
     }
 
-    private List<Note> listLast3Notes(List<Note> notes) {
-        return notes.subList(0, Math.min(notes.size(), 3));
-    }
+    private static final int LIST_LIMIT = 3;
 
     @Override
     public void execute(SlashCommandInteractionEvent event) {
         try {
-            List<Note> notes = api.listNotes();
-
-            if (notes.size() > 3) {
-                notes = listLast3Notes(notes);
-            }
+            List<NoteSummary> notes = api.listNoteSummaries(event.getUser().getIdLong(), LIST_LIMIT);
 
             EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("Notas")
@@ -40,7 +38,7 @@ public class ListNotesCommand implements Command {
                 .setColor(Color.BLUE)
                 .setFooter("Mynotes");
 
-            for (Note note : notes) {
+            for (NoteSummary note : notes) {
                 LocalDateTime createdAt = LocalDateTime.ofInstant(note.getCreatedAt().toInstant(), ZoneId.systemDefault());
                 String createdAtFormatted = createdAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
 
@@ -50,7 +48,7 @@ public class ListNotesCommand implements Command {
                     : "N/A";
 
                 embed.addField("Título", note.getTitle(), true);
-                embed.addField("Conteúdo", note.getContent(), true);
+                embed.addField("Conteúdo", note.getPreview(), true);
                 embed.addField("Data de criação", createdAtFormatted, true);
                 embed.addField("Data de atualização", updatedAtFormatted, true);
                 embed.addField("ID", note.getId().toString(), true);
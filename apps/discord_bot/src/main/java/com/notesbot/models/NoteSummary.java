@@ -0,0 +1,36 @@
+package com.notesbot.models;
+
+import java.util.Date;
+
+public class NoteSummary {
+    private Long id;
+    private String title;
+    private String preview;
+    private Date createdAt;
+    private Date updatedAt;
+    private String visibility;
+    private Date alertAt;
+
+    public NoteSummary() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getPreview() { return preview; }
+    public void setPreview(String preview) { this.preview = preview; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getVisibility() { return visibility; }
+    public void setVisibility(String visibility) { this.visibility = visibility; }
+
+    public Date getAlertAt() { return alertAt; }
+    public void setAlertAt(Date alertAt) { this.alertAt = alertAt; }
+}
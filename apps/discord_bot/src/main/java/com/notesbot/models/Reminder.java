@@ -0,0 +1,40 @@
+package com.notesbot.models;
+
+import java.util.Date;
+
+public class Reminder {
+    private Long id;
+    private Long noteId;
+    private Long discordUserId;
+    private Long serverId;
+    private Long channelId;
+    private String title;
+    private Date alertAt;
+    private Date createdAt;
+
+    public Reminder() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getNoteId() { return noteId; }
+    public void setNoteId(Long noteId) { this.noteId = noteId; }
+
+    public Long getDiscordUserId() { return discordUserId; }
+    public void setDiscordUserId(Long discordUserId) { this.discordUserId = discordUserId; }
+
+    public Long getServerId() { return serverId; }
+    public void setServerId(Long serverId) { this.serverId = serverId; }
+
+    public Long getChannelId() { return channelId; }
+    public void setChannelId(Long channelId) { this.channelId = channelId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public Date getAlertAt() { return alertAt; }
+    public void setAlertAt(Date alertAt) { this.alertAt = alertAt; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+}
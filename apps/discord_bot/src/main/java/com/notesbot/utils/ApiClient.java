@@ -1,9 +1,11 @@
 package com.notesbot.utils;
 
 import com.notesbot.models.Note;
+import com.notesbot.models.NoteSummary;
+import com.notesbot.models.Reminder;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
@@ -13,9 +15,10 @@ import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.HttpStatus;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Date;
@@ -23,41 +26,71 @@ import java.time.format.DateTimeFormatter;
 
 public class ApiClient {
     private static final String API_URL = "http://localhost:8080/notes";
+    private static final String REMINDERS_URL = "http://localhost:8080/reminders";
     private final HttpClient client;
-    private final ObjectMapper mapper;
+    private final String botToken;
 
     public ApiClient() {
+        this(null);
+    }
+
+    public ApiClient(String botToken) {
         this.client = HttpClients.createDefault();
-        this.mapper = new ObjectMapper();
-        this.mapper.registerModule(new Jdk8Module());
+        this.botToken = botToken;
     }
 
     public List<Note> listNotes() {
         try {
             HttpGet request = new HttpGet(API_URL);
+
+            request.setHeader("Accept", ApiCodec.ACCEPT);
+
             ClassicHttpResponse response = (ClassicHttpResponse) client.execute(request);
 
-            String json = EntityUtils.toString(response.getEntity());
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            ObjectMapper mapper = ApiCodec.mapperFor(response);
 
-            return Arrays.asList(mapper.readValue(json, Note[].class));
+            return Arrays.asList(mapper.readValue(body, Note[].class));
         } catch (Exception e) {
             e.printStackTrace();
             return List.of();
         }
     }
 
+    // Failures are thrown rather than returned as an empty list, so the command can tell the user.
+    public List<NoteSummary> listNoteSummaries(Long discordUserId, int limit) throws IOException {
+        HttpGet request = new HttpGet(API_URL + "/user/" + discordUserId + "/summaries?limit=" + limit);
+
+        request.setHeader("Accept", ApiCodec.ACCEPT);
+        request.setHeader("X-Bot-Token", botToken);
+
+        ClassicHttpResponse response = (ClassicHttpResponse) client.execute(request);
+
+        byte[] body = EntityUtils.toByteArray(response.getEntity());
+
+        if (response.getCode() != HttpStatus.SC_OK) {
+            throw new IOException("Failed to list note summaries: " + response.getCode());
+        }
+
+        ObjectMapper mapper = ApiCodec.mapperFor(response);
+        JsonNode items = mapper.readTree(body).get("items");
+
+        return Arrays.asList(mapper.treeToValue(items, NoteSummary[].class));
+    }
+
     public Note createNote(Note note) {
         try {
             HttpPost request = new HttpPost(API_URL);
 
-            request.setHeader("Content-Type", "application/json");
-            request.setEntity(new StringEntity(mapper.writeValueAsString(note)));
+            request.setHeader("Accept", ApiCodec.ACCEPT);
+            request.setEntity(new ByteArrayEntity(ApiCodec.SMILE_MAPPER.writeValueAsBytes(note), ApiCodec.SMILE));
 
             ClassicHttpResponse response = (ClassicHttpResponse) client.execute(request);
 
-            String json = EntityUtils.toString(response.getEntity());
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            ObjectMapper mapper = ApiCodec.mapperFor(response);
 
-            return mapper.readValue(json, Note.class);
+            return mapper.readValue(body, Note.class);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -68,14 +101,15 @@ public class ApiClient {
         try {
             HttpPut request = new HttpPut(API_URL + "/" + id);
 
-            request.setHeader("Content-Type", "application/json");
-            request.setEntity(new StringEntity(mapper.writeValueAsString(note)));
+            request.setHeader("Accept", ApiCodec.ACCEPT);
+            request.setEntity(new ByteArrayEntity(ApiCodec.SMILE_MAPPER.writeValueAsBytes(note), ApiCodec.SMILE));
 
             ClassicHttpResponse response = (ClassicHttpResponse) client.execute(request);
 
-            String json = EntityUtils.toString(response.getEntity());
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            ObjectMapper mapper = ApiCodec.mapperFor(response);
 
-            return mapper.readValue(json, Note.class);
+            return mapper.readValue(body, Note.class);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -98,4 +132,44 @@ public class ApiClient {
             return false;
         }
     }
+
+    public List<Reminder> listPendingReminders(int limit) {
+        try {
+            HttpGet request = new HttpGet(REMINDERS_URL + "/pending?limit=" + limit);
+
+            request.setHeader("Accept", ApiCodec.ACCEPT);
+            request.setHeader("X-Bot-Token", botToken);
+
+            ClassicHttpResponse response = (ClassicHttpResponse) client.execute(request);
+
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            ObjectMapper mapper = ApiCodec.mapperFor(response);
+
+            if (response.getCode() != HttpStatus.SC_OK) {
+                throw new RuntimeException("Failed to list reminders: " + response.getCode());
+            }
+
+            return Arrays.asList(mapper.readValue(body, Reminder[].class));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return List.of();
+        }
+    }
+
+    public Boolean acknowledgeReminder(Long id) {
+        try {
+            HttpDelete request = new HttpDelete(REMINDERS_URL + "/" + id);
+
+            request.setHeader("X-Bot-Token", botToken);
+
+            ClassicHttpResponse response = (ClassicHttpResponse) client.execute(request);
+
+            EntityUtils.consume(response.getEntity());
+
+            return response.getCode() == HttpStatus.SC_NO_CONTENT || response.getCode() == HttpStatus.SC_NOT_FOUND;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
 }
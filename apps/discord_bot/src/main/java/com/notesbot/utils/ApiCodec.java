@@ -0,0 +1,38 @@
+package com.notesbot.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+
+/**
+ * The one Jackson setup every ApiClient shares. Requests go to the backend as Smile, a binary JSON that is
+ * smaller and cheaper to write and parse, and responses are asked for as Smile too; anything that comes back
+ * as JSON instead (an error page, an older backend) is still read.
+ */
+final class ApiCodec {
+    static final ContentType SMILE = ContentType.create("application/x-jackson-smile");
+    static final String ACCEPT = SMILE.getMimeType() + ", application/json;q=0.5";
+
+    static final ObjectMapper JSON_MAPPER = new ObjectMapper()
+        .registerModule(new Jdk8Module())
+        .registerModule(new BlackbirdModule());
+    static final ObjectMapper SMILE_MAPPER = JSON_MAPPER.copyWith(new SmileFactory());
+
+    private ApiCodec() {
+    }
+
+    static ObjectMapper mapperFor(ClassicHttpResponse response) {
+        Header contentType = response.getFirstHeader("Content-Type");
+
+        if (contentType != null && contentType.getValue().startsWith(SMILE.getMimeType())) {
+            return SMILE_MAPPER;
+        }
+
+        return JSON_MAPPER;
+    }
+}
@@ -0,0 +1,85 @@
+package com.notesbot.utils;
+
+import com.notesbot.models.Reminder;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ReminderPoller {
+    private static final long POLL_INTERVAL_SECONDS = 5;
+    private static final int BATCH_SIZE = 50;
+
+    private final JDA jda;
+    private final ApiClient api;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    // The API keeps a reminder until it is acknowledged, so remember what is being sent or was already sent
+    // to avoid posting it twice when an acknowledgement is slow or fails.
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<Long> delivered = ConcurrentHashMap.newKeySet();
+
+    public ReminderPoller(JDA jda, ApiClient api) {
+        this.jda = jda;
+        this.api = api;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::poll, 0, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void poll() {
+        try {
+            List<Reminder> reminders = api.listPendingReminders(BATCH_SIZE);
+
+            for (Reminder reminder : reminders) {
+                if (delivered.contains(reminder.getId())) {
+                    acknowledge(reminder.getId());
+                } else if (inFlight.add(reminder.getId())) {
+                    send(reminder);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void send(Reminder reminder) {
+        String message = "⏰ <@" + reminder.getDiscordUserId() + "> Lembrete: **" + reminder.getTitle() + "**";
+        TextChannel channel = reminder.getChannelId() != null ? jda.getTextChannelById(reminder.getChannelId()) : null;
+
+        if (channel != null) {
+            channel.sendMessage(message).queue(
+                sent -> markDelivered(reminder.getId()),
+                failure -> inFlight.remove(reminder.getId())
+            );
+            return;
+        }
+
+        jda.retrieveUserById(reminder.getDiscordUserId())
+            .flatMap(User::openPrivateChannel)
+            .flatMap(privateChannel -> privateChannel.sendMessage(message))
+            .queue(
+                sent -> markDelivered(reminder.getId()),
+                failure -> inFlight.remove(reminder.getId())
+            );
+    }
+
+    private void markDelivered(Long id) {
+        delivered.add(id);
+        inFlight.remove(id);
+        executor.execute(() -> acknowledge(id));
+    }
+
+    private void acknowledge(Long id) {
+        if (api.acknowledgeReminder(id)) {
+            delivered.remove(id);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notesapi.NotesApiApplication;
+import com.notesapi.security.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load generator: web users doing note CRUD, listing and search, the Discord bot listing summaries
+ * and polling reminders, and thousands of WebSocket subscribers, all at once against one backend. Raise
+ * {@code --rate} between runs until latency climbs or errors appear; that is the saturation point.
+ *
+ * <p>By default the backend is booted in this JVM against the Postgres in {@code --spring.datasource.url}, which
+ * also gives direct access to its {@link JwtService}. With {@code --target} it drives a backend that is already
+ * running, and mints tokens with a {@link JwtService} built from the same secret.
+ */
+public final class LoadTest {
+    static final long SERVER_ID = 700_000_000_000_000_000L;
+
+    // Far from real Discord ids, so the notes are easy to find and delete afterwards.
+    private static final long USER_ID_BASE = 800_000_000_000_000_000L;
+    private static final long CHANNEL_ID_BASE = 900_000_000_000_000_000L;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ConfigurableApplicationContext context = options.inProcess() ? boot(options) : null;
+
+        try {
+            run(options, context);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    static long userId(int user) {
+        return USER_ID_BASE + user;
+    }
+
+    static long channelId(int channel) {
+        return CHANNEL_ID_BASE + channel;
+    }
+
+    private static void run(LoadTestOptions options, ConfigurableApplicationContext context) throws InterruptedException {
+        String target;
+        JwtService jwtService;
+        String botToken;
+
+        if (context != null) {
+            target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            jwtService = context.getBean(JwtService.class);
+            botToken = context.getEnvironment().getProperty("notes.reminders.bot-token");
+        } else {
+            target = options.target();
+            jwtService = new JwtService(options.jwtSecret(), options.users(), new SimpleMeterRegistry());
+            botToken = options.botToken();
+        }
+
+        if ((botToken == null || botToken.isBlank()) && options.mix().remove(Operation.REMINDERS) != null) {
+            System.out.println("No bot token, so the reminders operation is left out of the mix");
+        }
+
+        List<String> tokens = new ArrayList<>(options.users());
+
+        for (int i = 0; i < options.users(); i++) {
+            tokens.add(jwtService.generate(String.valueOf(userId(i))));
+        }
+
+        List<String> names = new ArrayList<>();
+
+        for (Operation operation : options.mix().keySet()) {
+            names.add(operation.key());
+        }
+
+        names.add(Report.PROPAGATION);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Report report = new Report(names, System.out);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        RequestDriver driver = new RequestDriver(client, mapper, report, target, tokens, botToken, options);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+
+        System.out.printf("Target %s: %d users, %d req/s, mix %s%n", target, options.users(), options.rate(), options.mix());
+
+        try (Subscribers subscribers = new Subscribers(client, mapper, report)) {
+            subscribers.connect(target, tokens, options.subscribers(), options.channels());
+
+            long warmupNanos = TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+            long runStart = System.nanoTime();
+
+            reporter.scheduleAtFixedRate(() -> {
+                boolean warmingUp = System.nanoTime() - runStart < warmupNanos;
+
+                report.printInterval((warmingUp ? "warmup, " : "") + subscribers.open() + " subscribers open, "
+                    + subscribers.framesReceived() + " frames received");
+            }, options.reportIntervalSeconds(), options.reportIntervalSeconds(), TimeUnit.SECONDS);
+
+            if (warmupNanos > 0) {
+                reporter.schedule(report::reset, warmupNanos, TimeUnit.NANOSECONDS);
+            }
+
+            driver.run(warmupNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds()));
+
+            // Events for the last writes are still in the outbox and the coalescing window.
+            Thread.sleep(2000);
+
+            reporter.shutdown();
+            reporter.awaitTermination(5, TimeUnit.SECONDS);
+            report.printTotal();
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        Map<String, Object> defaults = new HashMap<>();
+        List<String> args = new ArrayList<>(options.backendArgs());
+
+        // Lowest precedence: the backend's own application.yml, if it was packaged, and these arguments win.
+        defaults.put("server.port", 0);
+        defaults.put("spring.datasource.url", "jdbc:postgresql://localhost:5432/mynotes");
+        defaults.put("jwt.secret", randomSecret());
+        defaults.put("discord.client_id", "loadtest");
+        defaults.put("discord.client_secret", "loadtest");
+        defaults.put("discord.redirect_uri", "http://localhost/loadtest");
+        defaults.put("notes.reminders.bot-token", randomSecret());
+
+        // Logging every statement would make the generator measure the console.
+        if (args.stream().noneMatch(arg -> arg.startsWith("--spring.jpa.show-sql="))) {
+            args.add("--spring.jpa.show-sql=false");
+        }
+
+        return new SpringApplicationBuilder(NotesApiApplication.class)
+            .properties(defaults)
+            .run(args.toArray(new String[0]));
+    }
+
+    private static String randomSecret() {
+        byte[] bytes = new byte[48];
+
+        new SecureRandom().nextBytes(bytes);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,145 @@
+package com.notesapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options, all in {@code --name=value} form. Anything not listed here is handed to the backend
+ * when it is booted in-process, so {@code --spring.datasource.url=...} or
+ * {@code --notes.outbox.coalesce-window-ms=0} configure the system under test.
+ */
+record LoadTestOptions(
+    String target,
+    String jwtSecret,
+    String botToken,
+    int users,
+    int subscribers,
+    int channels,
+    double publicRatio,
+    int rate,
+    int maxInFlight,
+    int warmupSeconds,
+    int durationSeconds,
+    int reportIntervalSeconds,
+    Map<Operation, Integer> mix,
+    List<String> backendArgs
+) {
+    static final String USAGE = """
+        Options (--name=value):
+          --target              Base URL of a running backend; without it the backend is booted in-process
+          --jwt-secret          The target's jwt.secret (required with --target)
+          --bot-token           The target's notes.reminders.bot-token, for the reminders operation
+          --users               Distinct users the traffic and subscribers are spread across (default 100)
+          --subscribers         WebSocket connections held open (default 1000)
+          --channels            Channels the subscribers and public notes are spread across (default 10)
+          --public-ratio        Share of written notes that are public and reach channel subscribers (default 0.5)
+          --rate                Requests started per second, whatever the response times (default 200)
+          --max-in-flight       Requests outstanding before the generator waits (default 1024)
+          --warmup              Seconds of traffic before measuring (default 10)
+          --duration            Seconds measured (default 60)
+          --report-interval     Seconds between interval reports (default 5)
+          --mix                 Operation weights, e.g. create:10,read:25,update:10,delete:5,list:20,summaries:10,search:15,reminders:5
+        Any other --name=value is passed to the in-process backend.
+        """;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> backendArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+
+            String name = arg.substring(2, equals);
+
+            if (isOption(name)) {
+                values.put(name, arg.substring(equals + 1));
+            } else {
+                backendArgs.add(arg);
+            }
+        }
+
+        String target = values.get("target");
+        String jwtSecret = values.get("jwt-secret");
+
+        if (target != null && jwtSecret == null) {
+            throw new IllegalArgumentException("--jwt-secret is required with --target");
+        }
+
+        if (target != null && target.endsWith("/")) {
+            target = target.substring(0, target.length() - 1);
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+            target,
+            jwtSecret,
+            values.get("bot-token"),
+            intValue(values, "users", 100),
+            intValue(values, "subscribers", 1000),
+            intValue(values, "channels", 10),
+            Double.parseDouble(values.getOrDefault("public-ratio", "0.5")),
+            intValue(values, "rate", 200),
+            intValue(values, "max-in-flight", 1024),
+            intValue(values, "warmup", 10),
+            intValue(values, "duration", 60),
+            intValue(values, "report-interval", 5),
+            mix(values.get("mix")),
+            List.copyOf(backendArgs)
+        );
+
+        if (options.users < 1 || options.channels < 1 || options.rate < 1 || options.maxInFlight < 1) {
+            throw new IllegalArgumentException("--users, --channels, --rate and --max-in-flight must be at least 1");
+        }
+
+        return options;
+    }
+
+    boolean inProcess() {
+        return target == null;
+    }
+
+    private static boolean isOption(String name) {
+        return switch (name) {
+            case "target", "jwt-secret", "bot-token", "users", "subscribers", "channels", "public-ratio", "rate",
+                "max-in-flight", "warmup", "duration", "report-interval", "mix" -> true;
+            default -> false;
+        };
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    // Operations left out of --mix are not sent at all.
+    private static Map<Operation, Integer> mix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+        if (spec == null) {
+            for (Operation operation : Operation.values()) {
+                mix.put(operation, operation.defaultWeight());
+            }
+
+            return mix;
+        }
+
+        for (String part : spec.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix, got " + part);
+            }
+
+            mix.put(Operation.fromKey(keyAndWeight[0]), Integer.parseInt(keyAndWeight[1]));
+        }
+
+        return mix;
+    }
+}
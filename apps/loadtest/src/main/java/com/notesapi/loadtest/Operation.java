@@ -0,0 +1,42 @@
+package com.notesapi.loadtest;
+
+/**
+ * One kind of request in the traffic mix. The web client does the note CRUD, list and search calls; the
+ * Discord bot lists summaries and polls for due reminders.
+ */
+enum Operation {
+    CREATE("create", 10),
+    READ("read", 25),
+    UPDATE("update", 10),
+    DELETE("delete", 5),
+    LIST("list", 20),
+    SUMMARIES("summaries", 10),
+    SEARCH("search", 15),
+    REMINDERS("reminders", 5);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown operation in --mix: " + key);
+    }
+}
@@ -0,0 +1,31 @@
+package com.notesapi.loadtest;
+
+/**
+ * Note titles carry the {@link System#nanoTime()} at which the write was sent, so a subscriber in the same
+ * JVM can tell how long the event took to reach it without keeping a table of pending writes.
+ */
+final class PropagationMarker {
+    private static final String PREFIX = "lt-";
+
+    private PropagationMarker() {
+    }
+
+    static String title(long sentAtNanos) {
+        return PREFIX + sentAtNanos + " load test note";
+    }
+
+    // -1 for titles this run did not write.
+    static long sentAtNanos(String title) {
+        if (title == null || !title.startsWith(PREFIX)) {
+            return -1;
+        }
+
+        int end = title.indexOf(' ', PREFIX.length());
+
+        try {
+            return Long.parseLong(end < 0 ? title.substring(PREFIX.length()) : title.substring(PREFIX.length(), end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.notesapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms in microseconds, one per operation plus "propagation" (note write to WebSocket receipt,
+ * one sample per receiving connection). Recording is lock-free from any thread; printing and resetting
+ * happen on the reporting thread only.
+ */
+final class Report {
+    static final String PROPAGATION = "propagation";
+
+    private static final String HEADER_FORMAT = "%-12s %10s %10s %10s %10s %10s %10s %10s %8s%n";
+    private static final String ROW_FORMAT = "%-12s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f %8d%n";
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+    private final PrintStream out;
+    private long totalStartNanos;
+    private long intervalStartNanos;
+
+    Report(List<String> names, PrintStream out) {
+        for (String name : names) {
+            metrics.put(name, new Metric());
+        }
+
+        this.out = out;
+        this.totalStartNanos = System.nanoTime();
+        this.intervalStartNanos = totalStartNanos;
+    }
+
+    void record(String name, long latencyNanos) {
+        metrics.get(name).recorder.recordValue(Math.max(0, latencyNanos / 1000));
+    }
+
+    void error(String name) {
+        metrics.get(name).errors.increment();
+    }
+
+    // Drops everything recorded so far, at the end of the warmup.
+    void reset() {
+        for (Metric metric : metrics.values()) {
+            metric.recorder.reset();
+            metric.total.reset();
+            metric.errors.reset();
+            metric.totalErrors = 0;
+        }
+
+        totalStartNanos = System.nanoTime();
+        intervalStartNanos = totalStartNanos;
+    }
+
+    void printInterval(String label) {
+        long now = System.nanoTime();
+        double seconds = (now - intervalStartNanos) / 1e9;
+
+        intervalStartNanos = now;
+        out.printf("%n-- %s --%n", label);
+        out.printf(HEADER_FORMAT, "", "count", "per sec", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            Metric metric = entry.getValue();
+            Histogram interval = metric.recorder.getIntervalHistogram();
+            long errors = metric.errors.sumThenReset();
+
+            metric.total.add(interval);
+            metric.totalErrors += errors;
+            printRow(entry.getKey(), interval, errors, seconds);
+        }
+    }
+
+    void printTotal() {
+        printInterval("last interval");
+
+        double seconds = (System.nanoTime() - totalStartNanos) / 1e9;
+
+        out.printf("%n== total over %.0f s ==%n", seconds);
+        out.printf(HEADER_FORMAT, "", "count", "per sec", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            printRow(entry.getKey(), entry.getValue().total, entry.getValue().totalErrors, seconds);
+        }
+    }
+
+    private void printRow(String name, Histogram histogram, long errors, double seconds) {
+        long count = histogram.getTotalCount();
+
+        out.printf(ROW_FORMAT, name, count, seconds > 0 ? count / seconds : 0,
+            millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+            histogram.getMaxValue() / 1000.0, errors);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Metric {
+        // Auto-resizing, so one outlier of several seconds is recorded rather than clipped.
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram total = new Histogram(3);
+        private final LongAdder errors = new LongAdder();
+        private long totalErrors;
+    }
+}
@@ -0,0 +1,233 @@
+package com.notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP traffic: requests start on a fixed schedule of {@code rate} per second whether or not earlier
+ * ones have answered, and each latency is measured from the scheduled start rather than the actual send. A
+ * stalled backend therefore shows up as growing latency instead of as the generator quietly slowing down
+ * (coordinated omission). Past {@code maxInFlight} outstanding requests the schedule falls behind, and the
+ * time lost still counts against the requests that were late.
+ */
+final class RequestDriver {
+    private static final String[] WORDS = {
+        "meeting", "deploy", "groceries", "release", "ideas", "backlog", "reminder", "standup", "invoice", "draft"
+    };
+
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final Report report;
+    private final String target;
+    private final List<String> tokens;
+    private final String botToken;
+    private final LoadTestOptions options;
+    private final Operation[] schedule;
+    private final Semaphore inFlight;
+
+    // Notes this run created and nobody is updating or deleting right now; taking one from the queue claims it.
+    private final ConcurrentLinkedQueue<OwnedNote> notes = new ConcurrentLinkedQueue<>();
+
+    RequestDriver(
+        HttpClient client,
+        ObjectMapper mapper,
+        Report report,
+        String target,
+        List<String> tokens,
+        String botToken,
+        LoadTestOptions options
+    ) {
+        this.client = client;
+        this.mapper = mapper;
+        this.report = report;
+        this.target = target;
+        this.tokens = tokens;
+        this.botToken = botToken;
+        this.options = options;
+        this.schedule = schedule(options.mix());
+        this.inFlight = new Semaphore(options.maxInFlight());
+    }
+
+    // Blocks the calling thread for the whole run; responses are handled on the client's executor.
+    void run(long durationNanos) {
+        long intervalNanos = 1_000_000_000L / options.rate();
+        long start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+
+            if (intended - start >= durationNanos) {
+                break;
+            }
+
+            long wait = intended - System.nanoTime();
+
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            inFlight.acquireUninterruptibly();
+            send(schedule[ThreadLocalRandom.current().nextInt(schedule.length)], intended);
+        }
+
+        // Let the stragglers finish so their latencies make it into the report.
+        inFlight.acquireUninterruptibly(options.maxInFlight());
+        inFlight.release(options.maxInFlight());
+    }
+
+    private void send(Operation operation, long intended) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(tokens.size());
+        OwnedNote claimed = null;
+
+        // Reads, updates and deletes need a note to act on; until creates have made some, they create one instead.
+        if (operation == Operation.UPDATE || operation == Operation.DELETE || operation == Operation.READ) {
+            claimed = notes.poll();
+
+            if (claimed == null) {
+                operation = Operation.CREATE;
+            } else {
+                user = claimed.user();
+            }
+        }
+
+        // Visibility is decided at creation and sent again on every update, which would otherwise reset it to private.
+        String visibility = claimed != null ? claimed.visibility()
+            : random.nextDouble() < options.publicRatio() ? "public" : "private";
+        HttpRequest request = request(operation, user, claimed, visibility);
+        Operation sent = operation;
+        OwnedNote note = claimed;
+        int owner = user;
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intended;
+
+            inFlight.release();
+
+            if (error != null || response.statusCode() >= 400) {
+                report.error(sent.key());
+
+                if (note != null && sent != Operation.DELETE) {
+                    notes.offer(note);
+                }
+
+                return;
+            }
+
+            report.record(sent.key(), latency);
+
+            if (sent == Operation.CREATE) {
+                remember(response.body(), owner, visibility);
+            } else if (note != null && sent != Operation.DELETE) {
+                notes.offer(note);
+            }
+        });
+    }
+
+    private HttpRequest request(Operation operation, int user, OwnedNote note, String visibility) {
+        String token = tokens.get(user);
+
+        return switch (operation) {
+            case CREATE -> authorized(token, "/notes").POST(body(visibility, true)).build();
+            case READ -> authorized(token, "/notes/" + note.id()).GET().build();
+            case UPDATE -> authorized(token, "/notes/" + note.id()).PUT(body(visibility, false)).build();
+            case DELETE -> authorized(token, "/notes/" + note.id()).DELETE().build();
+            case LIST -> authorized(token, "/notes/user/" + LoadTest.userId(user) + "?limit=20").GET().build();
+            case SUMMARIES -> asBot(token, "/notes/user/" + LoadTest.userId(user) + "/summaries?limit=25").GET().build();
+            case SEARCH -> authorized(token, "/notes/search?limit=20&q="
+                + URLEncoder.encode(randomWord(), StandardCharsets.UTF_8)).GET().build();
+            case REMINDERS -> builder("/reminders/pending?limit=50").header("X-Bot-Token", botToken).GET().build();
+        };
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return builder(path).header("Authorization", "Bearer " + token);
+    }
+
+    // The bot lists summaries with its own token; without one, the user's JWT reaches the same endpoint.
+    private HttpRequest.Builder asBot(String token, String path) {
+        if (botToken == null || botToken.isBlank()) {
+            return authorized(token, path);
+        }
+
+        return builder(path).header("X-Bot-Token", botToken);
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.BodyPublisher body(String visibility, boolean create) {
+        ObjectNode json = mapper.createObjectNode();
+        StringBuilder content = new StringBuilder();
+
+        for (int i = 0; i < 40; i++) {
+            content.append(randomWord()).append(' ');
+        }
+
+        json.put("title", PropagationMarker.title(System.nanoTime()));
+        json.put("content", content.toString());
+        json.put("visibility", visibility);
+
+        // The channel cannot change after creation, so updates reach the same subscribers.
+        if (create) {
+            json.put("channelId", LoadTest.channelId(ThreadLocalRandom.current().nextInt(options.channels())));
+            json.put("serverId", LoadTest.SERVER_ID);
+        }
+
+        return HttpRequest.BodyPublishers.ofString(json.toString());
+    }
+
+    private void remember(String body, int user, String visibility) {
+        try {
+            long id = mapper.readTree(body).path("id").asLong();
+
+            if (id > 0) {
+                notes.offer(new OwnedNote(id, user, visibility));
+            }
+        } catch (Exception e) {
+            // Counted as a create that succeeded; the note just never gets updated.
+        }
+    }
+
+    private static String randomWord() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+
+    // Weighted draw by lookup: each operation appears in the array as many times as its weight.
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        if (total <= 0) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+
+        Operation[] schedule = new Operation[total];
+        int next = 0;
+
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[next++] = entry.getKey();
+            }
+        }
+
+        return schedule;
+    }
+
+    private record OwnedNote(long id, int user, String visibility) {
+    }
+}
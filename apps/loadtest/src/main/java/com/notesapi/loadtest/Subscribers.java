@@ -0,0 +1,172 @@
+package com.notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket clients held open on /ws for the whole run. Connection i authenticates as user
+ * {@code i % users} and subscribes to channel {@code i % channels}, so it receives that user's notes
+ * and the channel's public notes, as a web client does. Every note.upserted carrying a
+ * {@link PropagationMarker} is recorded as a propagation sample.
+ */
+final class Subscribers implements AutoCloseable {
+    // Handshakes in flight at once while connecting; more trips the server's accept backlog.
+    private static final int CONNECT_BATCH = 200;
+
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final Report report;
+    private final List<WebSocket> sockets = new CopyOnWriteArrayList<>();
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+
+    Subscribers(HttpClient client, ObjectMapper mapper, Report report) {
+        this.client = client;
+        this.mapper = mapper;
+        this.report = report;
+    }
+
+    void connect(String target, List<String> tokens, int count, int channels) {
+        String base = target.replaceFirst("^http", "ws") + "/ws?token=";
+        int failed = 0;
+
+        for (int from = 0; from < count; from += CONNECT_BATCH) {
+            List<CompletableFuture<WebSocket>> batch = new ArrayList<>();
+
+            for (int i = from; i < Math.min(from + CONNECT_BATCH, count); i++) {
+                URI uri = URI.create(base + URLEncoder.encode(tokens.get(i % tokens.size()), StandardCharsets.UTF_8));
+
+                batch.add(client.newWebSocketBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .buildAsync(uri, new Listener(LoadTest.channelId(i % channels))));
+            }
+
+            for (CompletableFuture<WebSocket> future : batch) {
+                try {
+                    sockets.add(future.join());
+                } catch (RuntimeException e) {
+                    failed++;
+                }
+            }
+        }
+
+        System.out.printf("%d WebSocket subscribers connected, %d failed%n", sockets.size(), failed);
+    }
+
+    int open() {
+        return sockets.size() - closed.intValue();
+    }
+
+    long framesReceived() {
+        return framesReceived.sum();
+    }
+
+    @Override
+    public void close() {
+        for (WebSocket socket : sockets) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "load test done");
+        }
+    }
+
+    private void handle(String frame, long receivedAtNanos) {
+        JsonNode root;
+
+        try {
+            root = mapper.readTree(frame);
+        } catch (Exception e) {
+            return;
+        }
+
+        framesReceived.increment();
+
+        if ("notes.batch".equals(root.path("type").asText())) {
+            for (JsonNode event : root.path("events")) {
+                recordPropagation(event, receivedAtNanos);
+            }
+        } else {
+            recordPropagation(root, receivedAtNanos);
+        }
+    }
+
+    private void recordPropagation(JsonNode event, long receivedAtNanos) {
+        if (!"note.upserted".equals(event.path("type").asText())) {
+            return;
+        }
+
+        long sentAtNanos = PropagationMarker.sentAtNanos(event.path("note").path("title").asText(null));
+
+        if (sentAtNanos >= 0) {
+            report.record(Report.PROPAGATION, receivedAtNanos - sentAtNanos);
+        }
+    }
+
+    private final class Listener implements WebSocket.Listener {
+        private final long channelId;
+        private final StringBuilder partial = new StringBuilder();
+        private long receivedAtNanos;
+
+        Listener(long channelId) {
+            this.channelId = channelId;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            webSocket.sendText("{\"action\":\"subscribe\",\"channelId\":" + channelId + "}", true);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            // Stamped on the first fragment, before parsing, so client-side work is not counted as propagation.
+            if (partial.isEmpty()) {
+                receivedAtNanos = System.nanoTime();
+            }
+
+            partial.append(data);
+
+            if (last) {
+                String frame = partial.toString();
+
+                partial.setLength(0);
+                handle(frame, receivedAtNanos);
+            }
+
+            webSocket.request(1);
+
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            webSocket.request(1);
+
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed.increment();
+
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            closed.increment();
+        }
+    }
+}
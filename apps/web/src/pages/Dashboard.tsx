@@ -18,6 +18,7 @@ export default function Dashboard() {
   const [error, setError] = useState<string | null>(null);
   const [showForm, setShowForm] = useState(false);
   const [editingNote, setEditingNote] = useState<Note | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
   useEffect(() => {
     const fetchNotes = async () => {
@@ -28,7 +29,8 @@ export default function Dashboard() {
 
         const response = await notesApi.getUserNotes(user.id);
 
-        setNotes(response.data);
+        setNotes(response.data.items);
+        setNextCursor(response.data.nextCursor);
         setError(null);
       } catch (err) {
         console.error("Failed to fetch notes:", err);
@@ -41,6 +43,24 @@ export default function Dashboard() {
     fetchNotes();
   }, [user]);
 
+  const handleLoadMore = async () => {
+    if (!user?.id || !nextCursor) return;
+
+    try {
+      setLoading(true);
+
+      const response = await notesApi.getUserNotes(user.id, nextCursor);
+
+      setNotes([...notes, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      console.error("Failed to fetch notes:", err);
+      setError("Failed to load notes. Please try again later.");
+    } finally {
+      setLoading(false);
+    }
+  };
+
   const handleCreateNote = async (noteData: Partial<Note>) => {
     if (!user?.id) return;
 
@@ -166,21 +186,35 @@ export default function Dashboard() {
           <Spinner size="large" />
         </div>
       ) : notes.length ? (
-        <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-          {notes.map((note) => (
-            <div
-              key={note.id}
-              onClick={() => handleViewNote(note.id)}
-              className="cursor-pointer"
-            >
-              <NoteCard
-                note={note}
-                onEdit={handleEditNote}
-                onDelete={handleDeleteNote}
-              />
+        <>
+          <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
+            {notes.map((note) => (
+              <div
+                key={note.id}
+                onClick={() => handleViewNote(note.id)}
+                className="cursor-pointer"
+              >
+                <NoteCard
+                  note={note}
+                  onEdit={handleEditNote}
+                  onDelete={handleDeleteNote}
+                />
+              </div>
+            ))}
+          </div>
+
+          {nextCursor && (
+            <div className="flex justify-center mt-6">
+              <button
+                onClick={handleLoadMore}
+                disabled={loading}
+                className="bg-gray-700 hover:bg-gray-600 text-white px-4 py-2 rounded-md transition-colors disabled:opacity-50"
+              >
+                Load more
+              </button>
             </div>
-          ))}
-        </div>
+          )}
+        </>
       ) : (
         <div className="text-center my-12 py-12 bg-gray-800 rounded-lg border border-gray-700">
           <FileText size={48} className="mx-auto mb-4 text-gray-600" />
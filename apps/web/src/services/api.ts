@@ -1,5 +1,6 @@
 import axios from "axios";
 import type { Note } from "../types/Note";
+import type { NotePage } from "../types/NotePage";
 
 const BASE_URL = import.meta.env.VITE_API_BASE_URL;
 
@@ -26,8 +27,10 @@ export const authApi = {
 };
 
 export const notesApi = {
-  getUserNotes: (userId: string) => {
-    return api.get<Note[]>(`/notes/user/${userId}`);
+  getUserNotes: (userId: string, cursor?: string) => {
+    return api.get<NotePage<Note>>(`/notes/user/${userId}`, {
+      params: cursor ? { cursor } : undefined,
+    });
   },
 
   getNoteById: (id: string) => {
@@ -6,10 +6,25 @@ export interface Note {
   updatedAt: string;
 }
 
+type NoteEvent =
+  | { type: "note.upserted"; note: Note }
+  | { type: "note.deleted"; noteId: string }
+  | { type: "note.alert"; note: Note };
+
+type NoteEventMessage = NoteEvent | { type: "notes.batch"; events: NoteEvent[] };
+
 let ws: WebSocket | null = null;
 
-export const connectWebSocket = (onMessageReceived: (note: Note) => void) => {
-  ws = new WebSocket("ws://localhost:8080/ws");
+export const connectWebSocket = (
+  onMessageReceived: (note: Note) => void,
+  onNoteDeleted?: (noteId: string) => void,
+  onNoteAlert?: (note: Note) => void,
+) => {
+  const token = localStorage.getItem("token");
+
+  ws = new WebSocket(
+    `ws://localhost:8080/ws?token=${encodeURIComponent(token ?? "")}`,
+  );
 
   ws.addEventListener("open", () => {
     console.log("✅ Conectado ao WebSocket");
@@ -17,8 +32,18 @@ export const connectWebSocket = (onMessageReceived: (note: Note) => void) => {
 
   ws.addEventListener("message", (event) => {
     try {
-      const note: Note = JSON.parse(event.data);
-      onMessageReceived(note);
+      const message: NoteEventMessage = JSON.parse(event.data);
+      const events = message.type === "notes.batch" ? message.events : [message];
+
+      for (const noteEvent of events) {
+        if (noteEvent.type === "note.upserted") {
+          onMessageReceived(noteEvent.note);
+        } else if (noteEvent.type === "note.deleted") {
+          onNoteDeleted?.(String(noteEvent.noteId));
+        } else if (noteEvent.type === "note.alert") {
+          onNoteAlert?.(noteEvent.note);
+        }
+      }
     } catch (err) {
       console.error(err);
     }
@@ -34,6 +59,14 @@ export const connectWebSocket = (onMessageReceived: (note: Note) => void) => {
   });
 };
 
+export const subscribeToChannel = (channelId: number) => {
+  ws?.send(JSON.stringify({ action: "subscribe", channelId }));
+};
+
+export const unsubscribeFromChannel = (channelId: number) => {
+  ws?.send(JSON.stringify({ action: "unsubscribe", channelId }));
+};
+
 export const disconnectWebSocket = () => {
   if (ws) {
     ws.close();
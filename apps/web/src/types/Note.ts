@@ -9,4 +9,5 @@ export interface Note {
   discordUserId: number;
   visibility: string;
   alertAt?: string;
+  alertSentAt?: string;
 }
@@ -0,0 +1,4 @@
+export interface NotePage<T> {
+  items: T[];
+  nextCursor: string | null;
+}